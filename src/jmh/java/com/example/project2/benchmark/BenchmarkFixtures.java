@@ -0,0 +1,49 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+final class BenchmarkFixtures {
+
+    static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long claimsCacheSize, boolean stateless) {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "statelessEnabled", stateless);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaximumSize", claimsCacheSize);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2fN5Qw4g8Tz0c6o0qg8Yb2e");
+        return user;
+    }
+
+    static Order order(long id, User user) {
+        Order order = new Order();
+        order.setId(id);
+        order.setTitle("order " + id);
+        order.setPrice(BigDecimal.valueOf(id * 10 + 99, 2));
+        order.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id));
+        order.setUser(user);
+        return order;
+    }
+}
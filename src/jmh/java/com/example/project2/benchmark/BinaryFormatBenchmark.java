@@ -0,0 +1,79 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.dto.OrderSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"500"})
+    private int listSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<OrderSummary> orders;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(new SmileFactory());
+            default -> json;
+        };
+        writer = mapper.writerFor(OrderSummary[].class);
+        reader = mapper.readerFor(OrderSummary[].class);
+        orders = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            orders.add(OrderSummary.from(BenchmarkFixtures.order(i, BenchmarkFixtures.user(i % 20 + 1))));
+        }
+        payload = writer.writeValueAsBytes(orders.toArray(OrderSummary[]::new));
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws Exception {
+        byte[] encoded = writer.writeValueAsBytes(orders.toArray(OrderSummary[]::new));
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public OrderSummary[] decode(PayloadSize size) throws Exception {
+        size.payloadBytes = payload.length;
+        return reader.readValue(payload);
+    }
+
+    /**
+     * Reports the encoded size next to the timings as the payloadBytes secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+    }
+}
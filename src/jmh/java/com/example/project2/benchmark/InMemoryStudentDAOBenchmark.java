@@ -0,0 +1,47 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.model.StudentModel;
+import com.example.project2.repository.InMemoryStudentDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InMemoryStudentDAOBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private InMemoryStudentDAO dao;
+
+    @Setup
+    public void setUp() {
+        dao = new InMemoryStudentDAO();
+        for (int i = 1; i <= size; i++) {
+            StudentModel student = new StudentModel();
+            student.setName("student " + i);
+            student.setEmail("student" + i + "@example.com");
+            dao.createStudent(student);
+        }
+    }
+
+    @Benchmark
+    public StudentModel findStudentById() {
+        return dao.findStudentById((long) ThreadLocalRandom.current().nextInt(1, size + 1));
+    }
+
+    @Benchmark
+    public StudentModel findStudentByEmail() {
+        return dao.findStudentByEmail("student" + ThreadLocalRandom.current().nextInt(1, size + 1) + "@example.com");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.exception.ErrorResponse;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JacksonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private Order order;
+    private ErrorResponse errorResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        user = BenchmarkFixtures.user(1);
+        order = BenchmarkFixtures.order(1, user);
+        errorResponse = new ErrorResponse(LocalDateTime.now(), 404, "Заказ с id 1 не найден", "uri=/api/orders/1");
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+}
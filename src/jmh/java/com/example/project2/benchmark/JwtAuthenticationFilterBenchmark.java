@@ -0,0 +1,72 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.repository.UserRepository;
+import com.example.project2.security.JwtAuthenticationFilter;
+import com.example.project2.security.JwtService;
+import com.example.project2.security.TokenVersionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000, stateless);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenVersionByUsername(anyString())).thenReturn(Optional.of(0L));
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(userRepository);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "statelessEnabled", stateless);
+
+        UserDetails alice = User.withUsername("alice").password("hash").authorities("ROLE_USER").build();
+        filter = new JwtAuthenticationFilter(jwtService,
+                username -> User.withUserDetails(alice).build(), tokenVersionRegistry, ObservationRegistry.NOOP,
+                new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtService.generateToken("alice",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0L);
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
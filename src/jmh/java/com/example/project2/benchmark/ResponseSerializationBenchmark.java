@@ -0,0 +1,81 @@
+package com.example.project2.benchmark;
+
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.UserResponse;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseSerializationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    @Param({"50"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        user = BenchmarkFixtures.user(1);
+        orders = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            orders.add(BenchmarkFixtures.order(i, user));
+        }
+    }
+
+    @Benchmark
+    public byte[] userEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(UserResponse.from(user));
+    }
+
+    @Benchmark
+    public byte[] orderEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(orders.get(0));
+    }
+
+    @Benchmark
+    public byte[] orderSummary() throws Exception {
+        return objectMapper.writeValueAsBytes(OrderSummary.from(orders.get(0)));
+    }
+
+    @Benchmark
+    public byte[] orderEntityList() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] orderSummaryList() throws Exception {
+        return objectMapper.writeValueAsBytes(orders.stream().map(OrderSummary::from).toList());
+    }
+}
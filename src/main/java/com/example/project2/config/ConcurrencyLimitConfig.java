@@ -0,0 +1,74 @@
+package com.example.project2.config;
+
+import com.example.project2.service.OrderService;
+import com.example.project2.service.StudentService;
+import com.example.project2.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    
+    private static final List<Class<?>> LIMITED_SERVICES = List.of(OrderService.class, UserService.class, StudentService.class);
+    
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AdaptiveConcurrencyLimiter serviceConcurrencyLimiter(Environment environment) {
+        return new AdaptiveConcurrencyLimiter(
+                environment.getProperty("concurrency-limit.initial-limit", Integer.class, 20),
+                environment.getProperty("concurrency-limit.min-limit", Integer.class, 10),
+                environment.getProperty("concurrency-limit.max-limit", Integer.class, 200));
+    }
+    
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceConcurrencyLimitAdvisor(AdaptiveConcurrencyLimiter serviceConcurrencyLimiter, Environment environment) {
+        Set<String> excludedMethods = Set.of(environment.getProperty("concurrency-limit.excluded-methods",
+                String[].class, new String[] {"streamAllOrders"}));
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return !excludedMethods.contains(method.getName())
+                        && LIMITED_SERVICES.stream().anyMatch(service ->
+                                service.isAssignableFrom(targetClass) && declares(service, method));
+            }
+        };
+        return new DefaultPointcutAdvisor(pointcut, new ConcurrencyLimitInterceptor(serviceConcurrencyLimiter));
+    }
+    
+    @Bean
+    MeterBinder serviceConcurrencyMetrics(AdaptiveConcurrencyLimiter serviceConcurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("service.concurrency.limit", serviceConcurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(registry);
+            Gauge.builder("service.concurrency.in.flight", serviceConcurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            FunctionCounter.builder("service.concurrency.rejected", serviceConcurrencyLimiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .register(registry);
+        };
+    }
+    
+    private static boolean declares(Class<?> service, Method method) {
+        try {
+            service.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
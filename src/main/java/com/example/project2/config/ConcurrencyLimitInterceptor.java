@@ -0,0 +1,37 @@
+package com.example.project2.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+class ConcurrencyLimitInterceptor implements MethodInterceptor {
+    
+    private final AdaptiveConcurrencyLimiter limiter;
+    
+    ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            throw new RejectedExecutionException("Превышен лимит одновременных запросов к базе данных");
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            limiter.release(System.nanoTime() - start);
+            throw e;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, error) -> limiter.release(System.nanoTime() - start));
+        } else {
+            limiter.release(System.nanoTime() - start);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.project2.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.io.IOException;
+
+final class HttpSerializationObservation {
+    
+    private HttpSerializationObservation() {
+    }
+    
+    static void observe(ObservationRegistry observationRegistry, String format, Write write) throws IOException {
+        Observation observation = Observation.createNotStarted("http.serialization", observationRegistry)
+                .contextualName("serialize " + format)
+                .lowCardinalityKeyValue("format", format)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            write.run();
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+    
+    @FunctionalInterface
+    interface Write {
+        void run() throws IOException;
+    }
+}
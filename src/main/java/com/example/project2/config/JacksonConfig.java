@@ -0,0 +1,34 @@
+package com.example.project2.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "jackson.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedCborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()), observationRegistry);
+    }
+    
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedSmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()), observationRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.project2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class JdbcConcurrencyConfig {
+    
+    @Bean
+    static BeanPostProcessor jdbcConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                boolean enabled = environment.getProperty("jdbc.concurrency-limit.enabled", Boolean.class,
+                        Threading.VIRTUAL.isActive(environment));
+                if (!enabled) {
+                    return bean;
+                }
+                int defaultConcurrency = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int maxConcurrency = environment.getProperty("jdbc.concurrency-limit.max-concurrency", Integer.class,
+                        defaultConcurrency);
+                Duration acquireTimeout = environment.getProperty("jdbc.concurrency-limit.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(30));
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.project2.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+class ObservedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    
+    private final ObservationRegistry observationRegistry;
+    
+    ObservedJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        HttpSerializationObservation.observe(observationRegistry, "json",
+                () -> super.writeInternal(object, type, outputMessage));
+    }
+}
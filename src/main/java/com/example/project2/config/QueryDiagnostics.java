@@ -0,0 +1,157 @@
+package com.example.project2.config;
+
+import com.example.project2.dto.QueryOffender;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+public class QueryDiagnostics implements StatementInspector, QueryExecutionListener {
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String APPLICATION_PACKAGE = "com.example.project2.";
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    
+    private final Tracer tracer;
+    private final Duration slowQueryThreshold;
+    private final int nPlusOneThreshold;
+    private final int maxStatementsPerRequest;
+    private final int bufferSize;
+    private final Cache<String, RequestStatements> requests;
+    private final Deque<QueryOffender> offenders;
+    private final Map<QueryOffender.Type, Counter> counters;
+    
+    public QueryDiagnostics(
+            Tracer tracer,
+            MeterRegistry meterRegistry,
+            Duration slowQueryThreshold,
+            int nPlusOneThreshold,
+            int maxStatementsPerRequest,
+            int bufferSize) {
+        this.tracer = tracer;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.bufferSize = bufferSize;
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+        this.offenders = new ArrayDeque<>(bufferSize);
+        this.counters = new EnumMap<>(QueryOffender.Type.class);
+        for (QueryOffender.Type type : QueryOffender.Type.values()) {
+            counters.put(type, Counter.builder("sql.diagnostics.offenders")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        String traceId = currentTraceId();
+        if (traceId == null) {
+            return sql;
+        }
+        RequestStatements statements = requests.get(traceId, id -> new RequestStatements());
+        String normalized = normalize(sql);
+        int repeated = statements.bySql.computeIfAbsent(normalized, key -> new AtomicInteger()).incrementAndGet();
+        int total = statements.total.incrementAndGet();
+        if (repeated == nPlusOneThreshold && normalized.regionMatches(true, 0, "select", 0, 6)) {
+            record(new QueryOffender(QueryOffender.Type.N_PLUS_ONE, normalized, callSite(), traceId, repeated, 0));
+        }
+        if (total == maxStatementsPerRequest + 1) {
+            record(new QueryOffender(QueryOffender.Type.TOO_MANY_STATEMENTS, normalized, callSite(), traceId, total, 0));
+        }
+        return sql;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < slowQueryThreshold.toMillis() || queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = normalize(queryInfoList.get(0).getQuery());
+        record(new QueryOffender(QueryOffender.Type.SLOW_QUERY, sql, callSite(), currentTraceId(),
+                Math.max(1, execInfo.getBatchSize()), execInfo.getElapsedTime()));
+    }
+    
+    public List<QueryOffender> findOffenders() {
+        synchronized (offenders) {
+            return new ArrayList<>(offenders);
+        }
+    }
+    
+    public void clear() {
+        synchronized (offenders) {
+            offenders.clear();
+        }
+    }
+    
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+    
+    private void record(QueryOffender offender) {
+        counters.get(offender.getType()).increment();
+        synchronized (offenders) {
+            if (offenders.size() == bufferSize) {
+                offenders.removeFirst();
+            }
+            offenders.addLast(offender);
+        }
+    }
+    
+    private String currentTraceId() {
+        Span span = tracer.currentSpan();
+        return span == null ? null : span.context().traceId();
+    }
+    
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> {
+            boolean serializing = false;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                serializing |= className.startsWith(JACKSON_PACKAGE);
+                if (className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(APPLICATION_PACKAGE + "config.")
+                        && !className.contains("$$")) {
+                    String site = className + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                    return serializing ? "JSON serialization <- " + site : site;
+                }
+            }
+            return null;
+        });
+    }
+    
+    private static class RequestStatements {
+        
+        private final AtomicInteger total = new AtomicInteger();
+        private final Map<String, AtomicInteger> bySql = new ConcurrentHashMap<>();
+    }
+}
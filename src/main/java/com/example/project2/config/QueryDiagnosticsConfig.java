@@ -0,0 +1,40 @@
+package com.example.project2.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryDiagnosticsConfig {
+    
+    @Bean
+    QueryDiagnostics queryDiagnostics(
+            ObjectProvider<Tracer> tracer,
+            MeterRegistry meterRegistry,
+            @Value("${diagnostics.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${diagnostics.sql.n-plus-one-threshold:5}") int nPlusOneThreshold,
+            @Value("${diagnostics.sql.max-statements-per-request:50}") int maxStatementsPerRequest,
+            @Value("${diagnostics.sql.buffer-size:200}") int bufferSize) {
+        return new QueryDiagnostics(tracer.getIfAvailable(() -> Tracer.NOOP), meterRegistry,
+                slowQueryThreshold, nPlusOneThreshold, maxStatementsPerRequest, bufferSize);
+    }
+    
+    @Bean
+    HibernatePropertiesCustomizer queryDiagnosticsStatementInspector(QueryDiagnostics queryDiagnostics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryDiagnostics);
+    }
+    
+    @Bean
+    QueryDiagnosticsEndpoint queryDiagnosticsEndpoint(QueryDiagnostics queryDiagnostics) {
+        return new QueryDiagnosticsEndpoint(queryDiagnostics);
+    }
+}
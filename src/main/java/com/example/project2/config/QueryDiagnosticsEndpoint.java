@@ -0,0 +1,28 @@
+package com.example.project2.config;
+
+import com.example.project2.dto.QueryOffender;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "queries")
+public class QueryDiagnosticsEndpoint {
+    
+    private final QueryDiagnostics queryDiagnostics;
+    
+    public QueryDiagnosticsEndpoint(QueryDiagnostics queryDiagnostics) {
+        this.queryDiagnostics = queryDiagnostics;
+    }
+    
+    @ReadOperation
+    public List<QueryOffender> offenders() {
+        return queryDiagnostics.findOffenders();
+    }
+    
+    @DeleteOperation
+    public void clear() {
+        queryDiagnostics.clear();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.project2.config;
+
+import com.example.project2.dto.TraceSpan;
+import com.example.project2.dto.TraceSummary;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RecentTraceExporter implements SpanExporter {
+    
+    static final String AUTH = "auth";
+    static final String SERVICE = "service";
+    static final String DB = "db";
+    static final String SERIALIZATION = "serialization";
+    
+    private static final AttributeKey<String> SERVICE_CLASS = AttributeKey.stringKey("class");
+    private static final Logger log = LoggerFactory.getLogger(RecentTraceExporter.class);
+    
+    private final int maxSpansPerTrace;
+    private final long slowThresholdNanos;
+    private final Map<String, List<SpanData>> traces;
+    
+    public RecentTraceExporter(int maxTraces, int maxSpansPerTrace, Duration slowThreshold) {
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanData>> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+    
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<String> completedRequests = new ArrayList<>();
+        synchronized (traces) {
+            for (SpanData span : spans) {
+                List<SpanData> trace = traces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>());
+                if (trace.size() < maxSpansPerTrace) {
+                    trace.add(span);
+                }
+                if (span.getKind() == SpanKind.SERVER && duration(span) >= slowThresholdNanos) {
+                    completedRequests.add(span.getTraceId());
+                }
+            }
+        }
+        for (String traceId : completedRequests) {
+            TraceSummary summary = findSummary(traceId);
+            if (summary != null) {
+                log.info("Slow request {} took {} ms (trace {}): {}", summary.getName(),
+                        summary.getDurationMillis(), traceId, summary.getBreakdownMillis());
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    public List<TraceSummary> findRecent() {
+        List<TraceSummary> summaries = new ArrayList<>();
+        for (String traceId : traceIds()) {
+            TraceSummary summary = findSummary(traceId);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        summaries.sort(Comparator.comparing(TraceSummary::getStartedAt).reversed());
+        return summaries;
+    }
+    
+    public TraceSummary findSummary(String traceId) {
+        List<SpanData> spans = snapshot(traceId);
+        SpanData root = root(spans);
+        if (root == null) {
+            return null;
+        }
+        Map<String, SpanData> byId = new HashMap<>();
+        spans.forEach(span -> byId.put(span.getSpanId(), span));
+    
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        for (String category : List.of(AUTH, SERVICE, DB, SERIALIZATION)) {
+            breakdown.put(category, 0.0);
+        }
+        for (SpanData span : spans) {
+            String category = category(span);
+            if (category != null && !hasAncestorIn(category, span, byId)) {
+                breakdown.merge(category, millis(duration(span)), Double::sum);
+            }
+        }
+        return new TraceSummary(traceId, root.getName(), Instant.ofEpochSecond(0, root.getStartEpochNanos()),
+                millis(duration(root)), spans.size(), breakdown);
+    }
+    
+    public List<TraceSpan> findSpans(String traceId) {
+        List<SpanData> spans = snapshot(traceId);
+        long start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+        List<TraceSpan> result = new ArrayList<>(spans.size());
+        spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .forEach(span -> {
+                    Map<String, String> attributes = new LinkedHashMap<>();
+                    span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+                    result.add(new TraceSpan(span.getSpanId(), span.getParentSpanId(), span.getName(),
+                            span.getKind().name(), millis(span.getStartEpochNanos() - start),
+                            millis(duration(span)), attributes));
+                });
+        return result;
+    }
+    
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    static String category(SpanData span) {
+        String name = span.getName();
+        if (name.startsWith("jwt ")) {
+            return AUTH;
+        }
+        if (name.equals("query") || name.equals("result-set")) {
+            return DB;
+        }
+        if (name.startsWith("serialize ")) {
+            return SERIALIZATION;
+        }
+        if (span.getAttributes().get(SERVICE_CLASS) != null) {
+            return SERVICE;
+        }
+        return null;
+    }
+    
+    private List<String> traceIds() {
+        synchronized (traces) {
+            return new ArrayList<>(traces.keySet());
+        }
+    }
+    
+    private List<SpanData> snapshot(String traceId) {
+        synchronized (traces) {
+            List<SpanData> spans = traces.get(traceId);
+            return spans == null ? List.of() : new ArrayList<>(spans);
+        }
+    }
+    
+    private static SpanData root(List<SpanData> spans) {
+        return spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .orElse(null);
+    }
+    
+    private static boolean hasAncestorIn(String category, SpanData span, Map<String, SpanData> byId) {
+        SpanData parent = byId.get(span.getParentSpanId());
+        while (parent != null) {
+            if (category.equals(category(parent))) {
+                return true;
+            }
+            parent = byId.get(parent.getParentSpanId());
+        }
+        return false;
+    }
+    
+    private static long duration(SpanData span) {
+        return span.getEndEpochNanos() - span.getStartEpochNanos();
+    }
+    
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
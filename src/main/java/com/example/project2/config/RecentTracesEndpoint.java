@@ -0,0 +1,29 @@
+package com.example.project2.config;
+
+import com.example.project2.dto.TraceSpan;
+import com.example.project2.dto.TraceSummary;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+@Endpoint(id = "traces")
+public class RecentTracesEndpoint {
+    
+    private final RecentTraceExporter exporter;
+    
+    public RecentTracesEndpoint(RecentTraceExporter exporter) {
+        this.exporter = exporter;
+    }
+    
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        return exporter.findRecent();
+    }
+    
+    @ReadOperation
+    public List<TraceSpan> trace(@Selector String traceId) {
+        return exporter.findSpans(traceId);
+    }
+}
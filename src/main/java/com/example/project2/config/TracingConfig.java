@@ -0,0 +1,33 @@
+package com.example.project2.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.Duration;
+
+@Configuration
+public class TracingConfig {
+    
+    @Bean
+    RecentTraceExporter recentTraceExporter(
+            @Value("${tracing.recent.max-traces:200}") int maxTraces,
+            @Value("${tracing.recent.max-spans-per-trace:500}") int maxSpansPerTrace,
+            @Value("${tracing.slow-request-threshold:500ms}") Duration slowRequestThreshold) {
+        return new RecentTraceExporter(maxTraces, maxSpansPerTrace, slowRequestThreshold);
+    }
+    
+    @Bean
+    RecentTracesEndpoint recentTracesEndpoint(RecentTraceExporter recentTraceExporter) {
+        return new RecentTracesEndpoint(recentTraceExporter);
+    }
+    
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+}
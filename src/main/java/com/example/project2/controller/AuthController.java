@@ -1,75 +1,74 @@
 package com.example.project2.controller;
 
 import com.example.project2.model.User;
-import com.example.project2.repository.UserRepository;
+import com.example.project2.security.CustomUserDetailsService;
 import com.example.project2.security.JwtService;
+import com.example.project2.security.PasswordHashingExecutor;
+import com.example.project2.service.LoginService;
+import com.example.project2.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication Controller", description = "API для аутентификации и регистрации")
 public class AuthController {
     
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     
     public AuthController(
-            AuthenticationManager authenticationManager,
+            LoginService loginService,
             JwtService jwtService,
-            UserRepository userRepository,
-            PasswordEncoder passwordEncoder) {
-        this.authenticationManager = authenticationManager;
+            UserService userService,
+            PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor) {
+        this.loginService = loginService;
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
     
     @PostMapping("/register")
     @Operation(summary = "Регистрация пользователя", description = "Регистрирует нового пользователя и возвращает JWT токен")
-    public ResponseEntity<Map<String, String>> register(@Valid @RequestBody User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new IllegalArgumentException("Пользователь с таким именем уже существует");
-        }
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Пользователь с таким email уже существует");
-        }
-        
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userRepository.save(user);
-        
-        String jwt = jwtService.generateToken(savedUser.getUsername());
-        
-        Map<String, String> response = new HashMap<>();
-        response.put("token", jwt);
-        response.put("message", "Регистрация прошла успешно");
-        response.put("username", savedUser.getUsername());
-        
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<Map<String, String>>> register(@Valid @RequestBody User user) {
+        String rawPassword = user.getPassword();
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(rawPassword))
+                .thenCompose(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    return userService.createUserAsync(user);
+                })
+                .thenApply(this::completeRegistration);
     }
     
     @PostMapping("/login")
     @Operation(summary = "Вход пользователя", description = "Аутентифицирует пользователя и возвращает JWT токен")
-    public ResponseEntity<Map<String, String>> login(@RequestBody Map<String, String> loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> login(@RequestBody Map<String, String> loginRequest) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
         
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
-        );
-        
-        String jwt = jwtService.generateToken(username);
+        return loginService.authenticateAsync(username, password)
+                .thenCompose(authentication -> userService.findTokenVersionAsync(username)
+                        .thenApply(tokenVersion -> completeLogin(username, authentication, tokenVersion)));
+    }
+    
+    private ResponseEntity<Map<String, String>> completeLogin(String username, Authentication authentication, long tokenVersion) {
+        String jwt = jwtService.generateToken(username, authentication.getAuthorities(), tokenVersion);
         
         Map<String, String> response = new HashMap<>();
         response.put("token", jwt);
@@ -78,5 +77,18 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+    
+    private ResponseEntity<Map<String, String>> completeRegistration(User savedUser) {
+        String jwt = jwtService.generateToken(
+                savedUser.getUsername(),
+                List.of(new SimpleGrantedAuthority(CustomUserDetailsService.DEFAULT_AUTHORITY)),
+                savedUser.getTokenVersion());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("token", jwt);
+        response.put("message", "Регистрация прошла успешно");
+        response.put("username", savedUser.getUsername());
+        
+        return ResponseEntity.ok(response);
+    }
 }
-
@@ -0,0 +1,74 @@
+package com.example.project2.controller;
+
+import com.example.project2.dto.TransferFormat;
+import com.example.project2.dto.TransferJob;
+import com.example.project2.dto.TransferTable;
+import com.example.project2.service.DataTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/transfer")
+@ConditionalOnProperty(name = "transfer.enabled", havingValue = "true")
+@Tag(name = "Data Transfer Controller", description = "API для массовой загрузки и выгрузки таблиц через PostgreSQL COPY")
+public class DataTransferController {
+    
+    private final DataTransferService dataTransferService;
+    
+    public DataTransferController(DataTransferService dataTransferService) {
+        this.dataTransferService = dataTransferService;
+    }
+    
+    @GetMapping("/{table}/export")
+    @Operation(summary = "Выгрузить таблицу", description = "Потоково выгружает таблицу orders или users (без паролей) в формате csv или binary")
+    public ResponseEntity<StreamingResponseBody> exportTable(
+            @PathVariable String table,
+            @RequestParam(defaultValue = "csv") String format) {
+        TransferTable transferTable = TransferTable.fromValue(table);
+        TransferFormat transferFormat = TransferFormat.fromValue(format);
+        StreamingResponseBody body = outputStream ->
+                dataTransferService.exportTable(transferTable, transferFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(transferFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + transferTable.getTableName()
+                        + "." + transferFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
+    }
+    
+    @PostMapping("/{table}/import")
+    @Operation(summary = "Загрузить таблицу", description = "Потоково загружает строки таблицы orders в формате csv или binary")
+    public ResponseEntity<TransferJob> importTable(
+            @PathVariable String table,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        TransferTable transferTable = TransferTable.fromValue(table);
+        TransferFormat transferFormat = TransferFormat.fromValue(format);
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(dataTransferService.importTable(transferTable, transferFormat, body));
+        }
+    }
+    
+    @GetMapping("/jobs")
+    @Operation(summary = "Получить задачи переноса", description = "Возвращает последние задачи загрузки и выгрузки с прогрессом")
+    public ResponseEntity<List<TransferJob>> getJobs() {
+        return ResponseEntity.ok(dataTransferService.findJobs());
+    }
+    
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Получить задачу переноса", description = "Возвращает прогресс задачи по ID")
+    public ResponseEntity<TransferJob> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(dataTransferService.findJob(id));
+    }
+}
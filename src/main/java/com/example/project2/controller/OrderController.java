@@ -1,17 +1,53 @@
 package com.example.project2.controller;
 
+import com.example.project2.dto.OrderBatchResponse;
+import com.example.project2.dto.OrderDeletionJob;
 import com.example.project2.dto.OrderRequest;
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.RevenueBucket;
+import com.example.project2.dto.RevenueGranularity;
+import com.example.project2.dto.SliceResponse;
+import com.example.project2.dto.UserOrderStats;
 import com.example.project2.model.Order;
 import com.example.project2.model.User;
+import com.example.project2.service.OrderAnalyticsService;
+import com.example.project2.service.OrderBatchService;
+import com.example.project2.service.OrderDeletionService;
 import com.example.project2.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -19,54 +55,117 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Order Controller", description = "API для управления заказами")
 public class OrderController {
     
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+    private static final List<MediaType> STREAM_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderDeletionService orderDeletionService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
     
-    public OrderController(OrderService orderService) {
+    public OrderController(
+            OrderService orderService,
+            OrderBatchService orderBatchService,
+            OrderAnalyticsService orderAnalyticsService,
+            OrderDeletionService orderDeletionService,
+            ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderBatchService = orderBatchService;
+        this.orderAnalyticsService = orderAnalyticsService;
+        this.orderDeletionService = orderDeletionService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
     }
     
     @GetMapping
-    @Operation(summary = "Получить все заказы", description = "Возвращает список всех заказов")
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.findAllOrders());
+    @Operation(summary = "Получить заказы постранично", description = "Возвращает страницу заказов после указанного курсора (keyset-пагинация по createdAt и id)")
+    public ResponseEntity<SliceResponse<OrderSummary>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(orderService.findOrdersSlice(cursor, size));
     }
     
     @GetMapping("/async")
-    @Operation(summary = "Получить все заказы асинхронно", description = "Асинхронно возвращает список всех заказов")
-    public CompletableFuture<ResponseEntity<List<Order>>> getAllOrdersAsync() {
-        return orderService.findAllOrdersAsync()
+    @Operation(summary = "Получить заказы постранично асинхронно", description = "Асинхронно возвращает страницу заказов после указанного курсора")
+    public CompletableFuture<ResponseEntity<SliceResponse<OrderSummary>>> getAllOrdersAsync(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return orderService.findOrdersSliceAsync(cursor, size)
                 .thenApply(ResponseEntity::ok);
     }
     
+    @GetMapping("/stream")
+    @Operation(summary = "Выгрузить все заказы потоком",
+            description = "Возвращает все заказы в NDJSON (по умолчанию), CBOR или Smile в зависимости от заголовка Accept")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType mediaType = selectStreamMediaType(accept);
+        if (MediaType.APPLICATION_CBOR.equals(mediaType)) {
+            return streamOrders(cborMapper, mediaType, false);
+        }
+        if (APPLICATION_SMILE.equals(mediaType)) {
+            return streamOrders(smileMapper, mediaType, false);
+        }
+        return streamOrders(objectMapper, MediaType.APPLICATION_NDJSON, true);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Получить заказ по ID", description = "Возвращает заказ с указанным ID")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.findOrderById(id));
+    public ResponseEntity<OrderSummary> getOrderById(@PathVariable Long id) {
+        return ResponseEntity.ok(OrderSummary.from(orderService.findOrderById(id)));
     }
     
     @GetMapping("/{id}/async")
     @Operation(summary = "Получить заказ по ID асинхронно", description = "Асинхронно возвращает заказ с указанным ID")
-    public CompletableFuture<ResponseEntity<Order>> getOrderByIdAsync(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<OrderSummary>> getOrderByIdAsync(@PathVariable Long id) {
         return orderService.findOrderByIdAsync(id)
-                .thenApply(ResponseEntity::ok);
+                .thenApply(o -> ResponseEntity.ok(OrderSummary.from(o)));
     }
     
     @GetMapping("/user/{userId}")
     @Operation(summary = "Получить заказы пользователя", description = "Возвращает все заказы указанного пользователя")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<OrderSummary>> getOrdersByUserId(@PathVariable Long userId) {
         return ResponseEntity.ok(orderService.findOrdersByUserId(userId));
     }
     
     @GetMapping("/user/{userId}/async")
     @Operation(summary = "Получить заказы пользователя асинхронно", description = "Асинхронно возвращает все заказы указанного пользователя")
-    public CompletableFuture<ResponseEntity<List<Order>>> getOrdersByUserIdAsync(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<List<OrderSummary>>> getOrdersByUserIdAsync(@PathVariable Long userId) {
         return orderService.findOrdersByUserIdAsync(userId)
                 .thenApply(ResponseEntity::ok);
     }
     
+    @GetMapping("/user/{userId}/stats")
+    @Operation(summary = "Получить итоги заказов пользователя", description = "Возвращает количество и сумму заказов пользователя, посчитанные в БД")
+    public ResponseEntity<UserOrderStats> getUserOrderStats(@PathVariable Long userId) {
+        return ResponseEntity.ok(orderAnalyticsService.findUserOrderStats(userId));
+    }
+    
+    @GetMapping("/stats/users")
+    @Operation(summary = "Получить итоги по пользователям", description = "Возвращает пользователей с наибольшей суммой заказов")
+    public ResponseEntity<List<UserOrderStats>> getTopUserOrderStats(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(orderAnalyticsService.findTopUserOrderStats(limit));
+    }
+    
+    @GetMapping("/stats/revenue")
+    @Operation(summary = "Получить выручку по периодам", description = "Возвращает количество заказов и выручку по часам или дням за период [from, to)")
+    public ResponseEntity<List<RevenueBucket>> getRevenue(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderAnalyticsService.findRevenue(RevenueGranularity.fromValue(granularity), from, to));
+    }
+    
     @PostMapping
     @Operation(summary = "Создать заказ", description = "Создает новый заказ. Принимает OrderRequest с userId или полный объект Order")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<OrderSummary> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
         Order order = new Order();
         order.setTitle(orderRequest.getTitle());
         order.setPrice(orderRequest.getPrice());
@@ -76,27 +175,42 @@ public class OrderController {
         order.setUser(user);
         
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orderService.createOrder(order));
+                .body(OrderSummary.from(orderService.createOrder(order)));
+    }
+    
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Создать заказы пакетом", description = "Создает заказы из JSON-массива OrderRequest и возвращает ошибки по каждому элементу")
+    public ResponseEntity<OrderBatchResponse> createOrdersBatch(@RequestBody List<OrderRequest> orderRequests) {
+        return ResponseEntity.ok(orderBatchService.createOrders(orderRequests.iterator()));
+    }
+    
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Создать заказы из потока NDJSON", description = "Создает заказы из потока OrderRequest, по одному объекту на строку")
+    public ResponseEntity<OrderBatchResponse> createOrdersBatchStream(HttpServletRequest request) throws IOException {
+        try (BufferedReader body = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            Iterator<OrderRequest> orderRequests = new NdjsonIterator(body, objectMapper.readerFor(OrderRequest.class));
+            return ResponseEntity.ok(orderBatchService.createOrders(orderRequests));
+        }
     }
     
     @PostMapping("/async")
     @Operation(summary = "Создать заказ асинхронно", description = "Асинхронно создает новый заказ")
-    public CompletableFuture<ResponseEntity<Order>> createOrderAsync(@Valid @RequestBody Order order) {
+    public CompletableFuture<ResponseEntity<OrderSummary>> createOrderAsync(@Valid @RequestBody Order order) {
         return orderService.createOrderAsync(order)
-                .thenApply(o -> ResponseEntity.status(HttpStatus.CREATED).body(o));
+                .thenApply(o -> ResponseEntity.status(HttpStatus.CREATED).body(OrderSummary.from(o)));
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Обновить заказ", description = "Обновляет информацию о заказе")
-    public ResponseEntity<Order> updateOrder(@PathVariable Long id, @Valid @RequestBody Order order) {
-        return ResponseEntity.ok(orderService.updateOrder(id, order));
+    public ResponseEntity<OrderSummary> updateOrder(@PathVariable Long id, @Valid @RequestBody Order order) {
+        return ResponseEntity.ok(OrderSummary.from(orderService.updateOrder(id, order)));
     }
     
     @PutMapping("/{id}/async")
     @Operation(summary = "Обновить заказ асинхронно", description = "Асинхронно обновляет информацию о заказе")
-    public CompletableFuture<ResponseEntity<Order>> updateOrderAsync(@PathVariable Long id, @Valid @RequestBody Order order) {
+    public CompletableFuture<ResponseEntity<OrderSummary>> updateOrderAsync(@PathVariable Long id, @Valid @RequestBody Order order) {
         return orderService.updateOrderAsync(id, order)
-                .thenApply(ResponseEntity::ok);
+                .thenApply(o -> ResponseEntity.ok(OrderSummary.from(o)));
     }
     
     @DeleteMapping("/{id}")
@@ -112,5 +226,119 @@ public class OrderController {
         return orderService.deleteOrderAsync(id)
                 .thenApply(v -> ResponseEntity.noContent().build());
     }
+    
+    @DeleteMapping("/user/{userId}")
+    @Operation(summary = "Удалить все заказы пользователя", description = "Удаляет заказы пользователя порциями; при background=true выполняется в фоне и сразу возвращает задачу")
+    public ResponseEntity<OrderDeletionJob> deleteOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean background) {
+        if (background) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(orderDeletionService.startDeleteOrdersByUserId(userId));
+        }
+        return ResponseEntity.ok(orderDeletionService.deleteOrdersByUserId(userId));
+    }
+    
+    @GetMapping("/deletions")
+    @Operation(summary = "Получить задачи удаления", description = "Возвращает последние задачи удаления заказов с прогрессом")
+    public ResponseEntity<List<OrderDeletionJob>> getDeletionJobs() {
+        return ResponseEntity.ok(orderDeletionService.findJobs());
+    }
+    
+    @GetMapping("/deletions/{id}")
+    @Operation(summary = "Получить задачу удаления", description = "Возвращает прогресс задачи удаления заказов по ID")
+    public ResponseEntity<OrderDeletionJob> getDeletionJob(@PathVariable String id) {
+        return ResponseEntity.ok(orderDeletionService.findJob(id));
+    }
+    
+    private static MediaType selectStreamMediaType(String accept) throws HttpMediaTypeNotAcceptableException {
+        if (!StringUtils.hasText(accept)) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        List<MediaType> requested;
+        try {
+            requested = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException(e.getMessage());
+        }
+        MimeTypeUtils.sortBySpecificity(requested);
+        for (MediaType type : requested) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType supported : STREAM_MEDIA_TYPES) {
+                if (type.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(STREAM_MEDIA_TYPES);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> streamOrders(ObjectMapper mapper, MediaType mediaType, boolean newlineDelimited) {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                if (newlineDelimited) {
+                    generator.setRootValueSeparator(null);
+                }
+                orderService.streamAllOrders(order -> {
+                    try {
+                        writer.writeValue(generator, order);
+                        if (newlineDelimited) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+    
+    private static class NdjsonIterator implements Iterator<OrderRequest> {
+        
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+        private String nextLine;
+        
+        NdjsonIterator(BufferedReader reader, ObjectReader objectReader) {
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public OrderRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return objectReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Некорректная строка NDJSON: " + e.getOriginalMessage());
+            }
+        }
+    }
 }
-
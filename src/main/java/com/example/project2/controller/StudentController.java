@@ -4,7 +4,6 @@ import com.example.project2.model.StudentModel;
 import com.example.project2.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -16,7 +15,6 @@ import java.util.List;
 @Controller
 public class StudentController {
 
-    @Qualifier("studentServiceImpl")
     @Autowired
     private StudentService studentService;
 
@@ -1,5 +1,7 @@
 package com.example.project2.controller;
 
+import com.example.project2.dto.UserResponse;
+import com.example.project2.model.Role;
 import com.example.project2.model.User;
 import com.example.project2.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,55 +27,61 @@ public class UserController {
     
     @GetMapping
     @Operation(summary = "Получить всех пользователей", description = "Возвращает список всех пользователей")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.findAllUsers());
+    public ResponseEntity<List<UserResponse>> getAllUsers() {
+        return ResponseEntity.ok(toResponses(userService.findAllUsers()));
     }
     
     @GetMapping("/async")
     @Operation(summary = "Получить всех пользователей асинхронно", description = "Асинхронно возвращает список всех пользователей")
-    public CompletableFuture<ResponseEntity<List<User>>> getAllUsersAsync() {
+    public CompletableFuture<ResponseEntity<List<UserResponse>>> getAllUsersAsync() {
         return userService.findAllUsersAsync()
-                .thenApply(ResponseEntity::ok);
+                .thenApply(users -> ResponseEntity.ok(toResponses(users)));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Получить пользователя по ID", description = "Возвращает пользователя с указанным ID")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.findUserById(id));
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+        return ResponseEntity.ok(UserResponse.from(userService.findUserById(id)));
     }
     
     @GetMapping("/{id}/async")
     @Operation(summary = "Получить пользователя по ID асинхронно", description = "Асинхронно возвращает пользователя с указанным ID")
-    public CompletableFuture<ResponseEntity<User>> getUserByIdAsync(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<UserResponse>> getUserByIdAsync(@PathVariable Long id) {
         return userService.findUserByIdAsync(id)
-                .thenApply(ResponseEntity::ok);
+                .thenApply(u -> ResponseEntity.ok(UserResponse.from(u)));
     }
     
     @PostMapping
     @Operation(summary = "Создать пользователя", description = "Создает нового пользователя")
-    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
+    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody User user) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(userService.createUser(user));
+                .body(UserResponse.from(userService.createUser(user)));
     }
     
     @PostMapping("/async")
     @Operation(summary = "Создать пользователя асинхронно", description = "Асинхронно создает нового пользователя")
-    public CompletableFuture<ResponseEntity<User>> createUserAsync(@Valid @RequestBody User user) {
+    public CompletableFuture<ResponseEntity<UserResponse>> createUserAsync(@Valid @RequestBody User user) {
         return userService.createUserAsync(user)
-                .thenApply(u -> ResponseEntity.status(HttpStatus.CREATED).body(u));
+                .thenApply(u -> ResponseEntity.status(HttpStatus.CREATED).body(UserResponse.from(u)));
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Обновить пользователя", description = "Обновляет информацию о пользователе")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
-        return ResponseEntity.ok(userService.updateUser(id, user));
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
+        return ResponseEntity.ok(UserResponse.from(userService.updateUser(id, user)));
     }
     
     @PutMapping("/{id}/async")
     @Operation(summary = "Обновить пользователя асинхронно", description = "Асинхронно обновляет информацию о пользователе")
-    public CompletableFuture<ResponseEntity<User>> updateUserAsync(@PathVariable Long id, @Valid @RequestBody User user) {
+    public CompletableFuture<ResponseEntity<UserResponse>> updateUserAsync(@PathVariable Long id, @Valid @RequestBody User user) {
         return userService.updateUserAsync(id, user)
-                .thenApply(ResponseEntity::ok);
+                .thenApply(u -> ResponseEntity.ok(UserResponse.from(u)));
+    }
+    
+    @PutMapping("/{id}/role")
+    @Operation(summary = "Изменить роль пользователя", description = "Меняет роль пользователя и отзывает его выданные токены")
+    public ResponseEntity<UserResponse> changeRole(@PathVariable Long id, @RequestParam Role role) {
+        return ResponseEntity.ok(UserResponse.from(userService.changeRole(id, role)));
     }
     
     @DeleteMapping("/{id}")
@@ -89,5 +97,11 @@ public class UserController {
         return userService.deleteUserAsync(id)
                 .thenApply(v -> ResponseEntity.noContent().build());
     }
+    
+    private static List<UserResponse> toResponses(List<User> users) {
+        return users.stream()
+                .map(UserResponse::from)
+                .toList();
+    }
 }
 
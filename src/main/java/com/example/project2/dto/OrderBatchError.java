@@ -0,0 +1,20 @@
+package com.example.project2.dto;
+
+public class OrderBatchError {
+    
+    private final int index;
+    private final String message;
+    
+    public OrderBatchError(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
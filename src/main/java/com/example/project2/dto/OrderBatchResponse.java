@@ -0,0 +1,35 @@
+package com.example.project2.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderBatchResponse {
+    
+    private int received;
+    private int created;
+    private final List<OrderBatchError> errors = new ArrayList<>();
+    
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public List<OrderBatchError> getErrors() {
+        return errors;
+    }
+    
+    public void addError(int index, String message) {
+        errors.add(new OrderBatchError(index, message));
+    }
+}
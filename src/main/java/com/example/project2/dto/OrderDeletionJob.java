@@ -0,0 +1,65 @@
+package com.example.project2.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrderDeletionJob {
+    
+    public enum Status { RUNNING, COMPLETED, FAILED }
+    
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong deletedRows = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    
+    public OrderDeletionJob(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public long getDeletedRows() {
+        return deletedRows.get();
+    }
+    
+    public void addDeletedRows(long count) {
+        deletedRows.addAndGet(count);
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+    
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project2.dto;
+
+import com.example.project2.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class OrderSummary {
+    
+    private final Long id;
+    private final String title;
+    private final BigDecimal price;
+    private final LocalDateTime createdAt;
+    private final Long userId;
+    private final String username;
+    
+    public OrderSummary(Long id, String title, BigDecimal price, LocalDateTime createdAt, Long userId, String username) {
+        this.id = id;
+        this.title = title;
+        this.price = price;
+        this.createdAt = createdAt;
+        this.userId = userId;
+        this.username = username;
+    }
+    
+    public static OrderSummary from(Order order) {
+        return new OrderSummary(order.getId(), order.getTitle(), order.getPrice(), order.getCreatedAt(),
+                order.getUser().getId(), order.getUser().getUsername());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.project2.dto;
+
+import java.time.LocalDateTime;
+
+public class QueryOffender {
+    
+    public enum Type { N_PLUS_ONE, SLOW_QUERY, TOO_MANY_STATEMENTS }
+    
+    private final Type type;
+    private final String sql;
+    private final String callSite;
+    private final String traceId;
+    private final long count;
+    private final long elapsedMillis;
+    private final LocalDateTime detectedAt = LocalDateTime.now();
+    
+    public QueryOffender(Type type, String sql, String callSite, String traceId, long count, long elapsedMillis) {
+        this.type = type;
+        this.sql = sql;
+        this.callSite = callSite;
+        this.traceId = traceId;
+        this.count = count;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getSql() {
+        return sql;
+    }
+    
+    public String getCallSite() {
+        return callSite;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+}
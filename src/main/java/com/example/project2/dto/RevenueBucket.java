@@ -0,0 +1,29 @@
+package com.example.project2.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class RevenueBucket {
+    
+    private final LocalDateTime bucketStart;
+    private final long orderCount;
+    private final BigDecimal revenue;
+    
+    public RevenueBucket(LocalDateTime bucketStart, long orderCount, BigDecimal revenue) {
+        this.bucketStart = bucketStart;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public long getOrderCount() {
+        return orderCount;
+    }
+    
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
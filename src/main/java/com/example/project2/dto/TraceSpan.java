@@ -0,0 +1,53 @@
+package com.example.project2.dto;
+
+import java.util.Map;
+
+public class TraceSpan {
+    
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final String kind;
+    private final double startOffsetMillis;
+    private final double durationMillis;
+    private final Map<String, String> attributes;
+    
+    public TraceSpan(String spanId, String parentSpanId, String name, String kind,
+                     double startOffsetMillis, double durationMillis, Map<String, String> attributes) {
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startOffsetMillis = startOffsetMillis;
+        this.durationMillis = durationMillis;
+        this.attributes = attributes;
+    }
+    
+    public String getSpanId() {
+        return spanId;
+    }
+    
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public double getStartOffsetMillis() {
+        return startOffsetMillis;
+    }
+    
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
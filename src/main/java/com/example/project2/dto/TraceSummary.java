@@ -0,0 +1,48 @@
+package com.example.project2.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class TraceSummary {
+    
+    private final String traceId;
+    private final String name;
+    private final Instant startedAt;
+    private final double durationMillis;
+    private final int spanCount;
+    private final Map<String, Double> breakdownMillis;
+    
+    public TraceSummary(String traceId, String name, Instant startedAt, double durationMillis,
+                        int spanCount, Map<String, Double> breakdownMillis) {
+        this.traceId = traceId;
+        this.name = name;
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.spanCount = spanCount;
+        this.breakdownMillis = breakdownMillis;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public int getSpanCount() {
+        return spanCount;
+    }
+    
+    public Map<String, Double> getBreakdownMillis() {
+        return breakdownMillis;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.project2.dto;
+
+import java.util.Locale;
+
+public enum TransferFormat {
+    CSV("(FORMAT csv, HEADER true)", "text/csv"),
+    BINARY("(FORMAT binary)", "application/octet-stream");
+    
+    private final String copyOptions;
+    private final String mediaType;
+    
+    TransferFormat(String copyOptions, String mediaType) {
+        this.copyOptions = copyOptions;
+        this.mediaType = mediaType;
+    }
+    
+    public String getCopyOptions() {
+        return copyOptions;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public static TransferFormat fromValue(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестный формат: " + value);
+        }
+    }
+}
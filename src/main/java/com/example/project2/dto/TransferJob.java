@@ -0,0 +1,85 @@
+package com.example.project2.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransferJob {
+    
+    public enum Direction { IMPORT, EXPORT }
+    
+    public enum Status { RUNNING, COMPLETED, FAILED }
+    
+    private final String id = UUID.randomUUID().toString();
+    private final TransferTable table;
+    private final TransferFormat format;
+    private final Direction direction;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile long rows;
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    
+    public TransferJob(TransferTable table, TransferFormat format, Direction direction) {
+        this.table = table;
+        this.format = format;
+        this.direction = direction;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public TransferTable getTable() {
+        return table;
+    }
+    
+    public TransferFormat getFormat() {
+        return format;
+    }
+    
+    public Direction getDirection() {
+        return direction;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public long getBytes() {
+        return bytes.get();
+    }
+    
+    public void addBytes(long count) {
+        bytes.addAndGet(count);
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void complete(long rows) {
+        this.rows = rows;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+    
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.project2.dto;
+
+import java.util.Locale;
+
+public enum TransferTable {
+    ORDERS("orders", "id, title, price, created_at, user_id", "'orders_id_seq'", true),
+    // Password hashes never leave the database, so users are export-only: an import without them could not log in
+    USERS("users", "id, username, email", "pg_get_serial_sequence('users', 'id')", false);
+    
+    private final String tableName;
+    private final String columns;
+    private final String sequenceExpression;
+    private final boolean importable;
+    
+    TransferTable(String tableName, String columns, String sequenceExpression, boolean importable) {
+        this.tableName = tableName;
+        this.columns = columns;
+        this.sequenceExpression = sequenceExpression;
+        this.importable = importable;
+    }
+    
+    public String getTableName() {
+        return tableName;
+    }
+    
+    public String getColumns() {
+        return columns;
+    }
+    
+    public String getSequenceExpression() {
+        return sequenceExpression;
+    }
+    
+    public boolean isImportable() {
+        return importable;
+    }
+    
+    public static TransferTable fromValue(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестная таблица: " + value);
+        }
+    }
+}
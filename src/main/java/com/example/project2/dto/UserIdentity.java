@@ -0,0 +1,6 @@
+package com.example.project2.dto;
+
+public interface UserIdentity {
+    String getUsername();
+    String getEmail();
+}
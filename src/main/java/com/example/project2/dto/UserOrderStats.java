@@ -0,0 +1,34 @@
+package com.example.project2.dto;
+
+import java.math.BigDecimal;
+
+public class UserOrderStats {
+    
+    private final Long userId;
+    private final String username;
+    private final long orderCount;
+    private final BigDecimal totalAmount;
+    
+    public UserOrderStats(Long userId, String username, long orderCount, BigDecimal totalAmount) {
+        this.userId = userId;
+        this.username = username;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public long getOrderCount() {
+        return orderCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
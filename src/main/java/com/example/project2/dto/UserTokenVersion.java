@@ -0,0 +1,6 @@
+package com.example.project2.dto;
+
+public interface UserTokenVersion {
+    String getUsername();
+    long getTokenVersion();
+}
@@ -0,0 +1,44 @@
+package com.example.project2.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_revenue_hourly")
+public class OrderRevenueRollup {
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false)
+    private long orderCount;
+    
+    @Column(nullable = false)
+    private BigDecimal revenue;
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public long getOrderCount() {
+        return orderCount;
+    }
+    
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+    
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.project2.model;
+
+public enum Role {
+    USER,
+    ADMIN
+}
@@ -1,14 +1,22 @@
 package com.example.project2.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
     
     @Id
@@ -17,6 +25,7 @@ public class User {
     
     @NotBlank(message = "Имя пользователя не должно быть пустым")
     @Size(min = 3, max = 50, message = "Имя должно быть от 3 до 50 символов")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String username;
     
@@ -30,6 +39,15 @@ public class User {
     @Column(nullable = false)
     private String password;
     
+    @JsonIgnore
+    @Column(nullable = false)
+    private long tokenVersion;
+    
+    @JsonIgnore
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Role role = Role.USER;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Order> orders = new ArrayList<>();
     
@@ -65,6 +83,22 @@ public class User {
         this.password = password;
     }
     
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public void setRole(Role role) {
+        this.role = role;
+    }
+    
     public List<Order> getOrders() {
         return orders;
     }
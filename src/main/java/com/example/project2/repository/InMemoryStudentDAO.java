@@ -1,50 +1,149 @@
 package com.example.project2.repository;
 
 import com.example.project2.model.StudentModel;
+import com.example.project2.service.StudentService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 
 
+@Primary
 @Repository
-public class InMemoryStudentDAO {
-    private final List<StudentModel> STUDENTS = new ArrayList<>();
+@ConditionalOnProperty(name = "students.store", havingValue = "memory")
+public class InMemoryStudentDAO implements StudentService {
+    private final Map<Long, StudentModel> studentsById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final StampedLock writeLock = new StampedLock();
 
+    @Override
     public List<StudentModel> findAllStudent() {
-        return STUDENTS;
+        long stamp = writeLock.tryOptimisticRead();
+        List<StudentModel> snapshot = copyAll();
+        if (!writeLock.validate(stamp)) {
+            stamp = writeLock.readLock();
+            try {
+                snapshot = copyAll();
+            } finally {
+                writeLock.unlockRead(stamp);
+            }
+        }
+        return snapshot;
     }
 
+    @Override
     public StudentModel findStudentById(Long id) {
-        return STUDENTS
-                .stream()
-                .filter(element -> element.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        if (id == null) {
+            return null;
+        }
+        return copyOf(studentsById.get(id));
+    }
+
+    public StudentModel findStudentByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        Long id = idsByEmail.get(normalizeEmail(email));
+        return id == null ? null : findStudentById(id);
     }
 
+    @Override
     public StudentModel createStudent(StudentModel student) {
-        STUDENTS.add(student);
-        return student;
+        long stamp = writeLock.writeLock();
+        try {
+            if (student.getId() == null) {
+                student.setId(idSequence.incrementAndGet());
+            } else {
+                idSequence.accumulateAndGet(student.getId(), Math::max);
+            }
+            StudentModel previous = studentsById.get(student.getId());
+            store(previous, student);
+            return copyOf(student);
+        } finally {
+            writeLock.unlockWrite(stamp);
+        }
     }
 
+    @Override
     public StudentModel updateStudent(StudentModel student) {
-        var studentIndex = IntStream.range(0, STUDENTS.size())
-                .filter(index -> STUDENTS.get(index).getId().equals(student.getId()))
-                .findFirst()
-                .orElse(-1);
-        if (studentIndex == -1) {
+        if (student.getId() == null) {
             return null;
         }
-        STUDENTS.set(studentIndex, student);
-        return student;
+        long stamp = writeLock.writeLock();
+        try {
+            StudentModel previous = studentsById.get(student.getId());
+            if (previous == null) {
+                return null;
+            }
+            store(previous, student);
+            return copyOf(student);
+        } finally {
+            writeLock.unlockWrite(stamp);
+        }
     }
 
+    @Override
     public void deleteStudent(Long id) {
-        var student = findStudentById(id);
-        if (student != null) {
-            STUDENTS.remove(student);
+        if (id == null) {
+            return;
+        }
+        long stamp = writeLock.writeLock();
+        try {
+            StudentModel removed = studentsById.remove(id);
+            if (removed != null && removed.getEmail() != null) {
+                idsByEmail.remove(normalizeEmail(removed.getEmail()), id);
+            }
+        } finally {
+            writeLock.unlockWrite(stamp);
+        }
+    }
+
+    private void store(StudentModel previous, StudentModel student) {
+        Long id = student.getId();
+        String email = student.getEmail() == null ? null : normalizeEmail(student.getEmail());
+        if (email != null) {
+            Long owner = idsByEmail.get(email);
+            if (owner != null && !owner.equals(id)) {
+                throw new IllegalArgumentException("Студент с таким email уже существует");
+            }
+        }
+        if (previous != null && previous.getEmail() != null) {
+            idsByEmail.remove(normalizeEmail(previous.getEmail()), id);
+        }
+        if (email != null) {
+            idsByEmail.put(email, id);
+        }
+        studentsById.put(id, copyOf(student));
+    }
+
+    private List<StudentModel> copyAll() {
+        List<StudentModel> copy = new ArrayList<>(studentsById.size());
+        for (StudentModel student : studentsById.values()) {
+            copy.add(copyOf(student));
         }
+        return copy;
+    }
+
+    private static StudentModel copyOf(StudentModel student) {
+        if (student == null) {
+            return null;
+        }
+        StudentModel copy = new StudentModel();
+        copy.setId(student.getId());
+        copy.setName(student.getName());
+        copy.setEmail(student.getEmail());
+        return copy;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
     }
 }
@@ -1,13 +1,76 @@
 package com.example.project2.repository;
 
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.UserOrderStats;
 import com.example.project2.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
+    
+    String SUMMARY_SELECT = "select new com.example.project2.dto.OrderSummary(" +
+            "o.id, o.title, o.price, o.createdAt, u.id, u.username) " +
+            "from Order o join o.user u ";
+    
+    @EntityGraph(attributePaths = "user")
+    Optional<Order> findWithUserById(Long id);
+    
+    @Modifying
+    @Query("delete from Order o where o.id = :id")
+    int deleteOrderById(@Param("id") Long id);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from orders where id in " +
+            "(select id from orders where user_id = :userId limit :limit)")
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+    
+    @Query(SUMMARY_SELECT + "where u.id = :userId order by o.createdAt, o.id")
+    List<OrderSummary> findSummariesByUserId(@Param("userId") Long userId);
+    
+    @Query(SUMMARY_SELECT + "order by o.createdAt, o.id")
+    Slice<OrderSummary> findFirstSlice(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT +
+            "where o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt, o.id")
+    Slice<OrderSummary> findSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "order by o.createdAt, o.id")
+    Stream<OrderSummary> streamAll();
+    
+    @Query("select new com.example.project2.dto.UserOrderStats(u.id, u.username, count(o), coalesce(sum(o.price), 0)) " +
+            "from User u left join u.orders o where u.id = :userId group by u.id, u.username")
+    Optional<UserOrderStats> findUserOrderStats(@Param("userId") Long userId);
+    
+    @Query("select new com.example.project2.dto.UserOrderStats(u.id, u.username, count(o), sum(o.price)) " +
+            "from Order o join o.user u group by u.id, u.username order by sum(o.price) desc")
+    List<UserOrderStats> findTopUserOrderStats(Pageable pageable);
+    
+    @Query(nativeQuery = true, value = "select date_trunc('hour', created_at), count(*), sum(price) from orders " +
+            "where created_at >= :from and created_at < :to " +
+            "group by date_trunc('hour', created_at) order by date_trunc('hour', created_at)")
+    List<Object[]> findHourlyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query(nativeQuery = true, value = "select date_trunc('day', created_at), count(*), sum(price) from orders " +
+            "where created_at >= :from and created_at < :to " +
+            "group by date_trunc('day', created_at) order by date_trunc('day', created_at)")
+    List<Object[]> findDailyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
-
@@ -0,0 +1,39 @@
+package com.example.project2.repository;
+
+import com.example.project2.model.OrderRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderRevenueRollupRepository extends JpaRepository<OrderRevenueRollup, LocalDateTime> {
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "with claimed as (delete from order_revenue_changes returning bucket_start), " +
+            "hours as (select distinct bucket_start from claimed), " +
+            "totals as (select h.bucket_start, count(o.id) as order_count, coalesce(sum(o.price), 0) as revenue " +
+            "from hours h left join orders o " +
+            "on o.created_at >= h.bucket_start and o.created_at < h.bucket_start + interval '1 hour' " +
+            "group by h.bucket_start), " +
+            "emptied as (delete from order_revenue_hourly r using totals t " +
+            "where r.bucket_start = t.bucket_start and t.order_count = 0) " +
+            "insert into order_revenue_hourly (bucket_start, order_count, revenue) " +
+            "select bucket_start, order_count, revenue from totals where order_count > 0 " +
+            "on conflict (bucket_start) do update " +
+            "set order_count = excluded.order_count, revenue = excluded.revenue")
+    int refreshChangedBuckets();
+    
+    @Query(nativeQuery = true, value = "select bucket_start, order_count, revenue from order_revenue_hourly " +
+            "where bucket_start >= :from and bucket_start < :to order by 1")
+    List<Object[]> findHourlyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query(nativeQuery = true, value = "select date_trunc('day', bucket_start), sum(order_count), sum(revenue) " +
+            "from order_revenue_hourly where bucket_start >= :from and bucket_start < :to " +
+            "group by date_trunc('day', bucket_start) order by date_trunc('day', bucket_start)")
+    List<Object[]> findDailyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
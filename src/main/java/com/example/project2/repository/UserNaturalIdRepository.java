@@ -0,0 +1,9 @@
+package com.example.project2.repository;
+
+import com.example.project2.model.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
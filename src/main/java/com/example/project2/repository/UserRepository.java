@@ -1,16 +1,63 @@
 package com.example.project2.repository;
 
+import com.example.project2.dto.UserIdentity;
+import com.example.project2.dto.UserTokenVersion;
 import com.example.project2.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+    
+    String LOOKUP_CACHE_REGION = "user-lookups";
+    
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LOOKUP_CACHE_REGION)
+    })
     Optional<User> findByEmail(String email);
+    
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LOOKUP_CACHE_REGION)
+    })
     boolean existsByUsername(String username);
+    
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LOOKUP_CACHE_REGION)
+    })
     boolean existsByEmail(String email);
+    
+    List<UserIdentity> findByUsernameOrEmail(String username, String email);
+    
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LOOKUP_CACHE_REGION)
+    })
+    @Query("select u.tokenVersion from User u where u.username = :username")
+    Optional<Long> findTokenVersionByUsername(@Param("username") String username);
+    
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+    
+    @Query("select u.username as username, u.tokenVersion as tokenVersion from User u")
+    List<UserTokenVersion> findAllTokenVersions();
 }
-
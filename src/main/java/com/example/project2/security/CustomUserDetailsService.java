@@ -2,30 +2,92 @@ package com.example.project2.security;
 
 import com.example.project2.model.User;
 import com.example.project2.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    
+    public static final String DEFAULT_AUTHORITY = "ROLE_USER";
+    
+    @Value("${auth.user-cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+    
+    @Value("${auth.user-cache.ttl:5m}")
+    private Duration cacheTtl;
     
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private Cache<String, UserDetails> userCache;
     
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    void init() {
+        userCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "user.details");
     }
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userCache.get(username, this::loadFromRepository);
+        // ProviderManager erases credentials of the returned principal, so the cached instance is never handed out
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+    
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evict(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+    
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        userCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userCache.invalidate(username);
+                }
+            });
+        }
+    }
+    
+    private UserDetails loadFromRepository(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден: " + username));
         
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getUsername())
                 .password(user.getPassword())
-                .authorities("ROLE_USER")
+                .roles(user.getRole().name())
                 .build();
     }
 }
-
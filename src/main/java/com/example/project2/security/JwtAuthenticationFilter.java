@@ -1,29 +1,55 @@
 package com.example.project2.security;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Counter authenticated;
+    private final Counter rejected;
+    private final Counter failed;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
     
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenVersionRegistry tokenVersionRegistry,
+            ObservationRegistry observationRegistry,
+            MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.observationRegistry = observationRegistry;
+        this.authenticated = outcomeCounter("authenticated", meterRegistry);
+        this.rejected = outcomeCounter("rejected", meterRegistry);
+        this.failed = outcomeCounter("error", meterRegistry);
     }
     
     @Override
@@ -41,26 +67,75 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtService.extractUsername(jwt);
+            final String username = observe("parse", () -> jwtService.extractUsername(jwt));
             
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UsernamePasswordAuthenticationToken authToken = jwtService.isStatelessEnabled()
+                        ? authenticateFromClaims(jwt, username)
+                        : authenticateFromUserDetails(jwt, username);
                 
-                if (jwtService.validateToken(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    SecurityContext context = SecurityContextHolder.createEmptyContext();
+                    context.setAuthentication(authToken);
+                    SecurityContextHolder.setContext(context);
+                    // ASYNC dispatches skip this filter and reload the context from the request
+                    securityContextRepository.saveContext(context, request, response);
+                    authenticated.increment();
+                } else {
+                    rejected.increment();
                 }
             }
         } catch (Exception e) {
+            failed.increment();
             logger.error("Cannot set user authentication: {}", e);
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(String jwt, String username) {
+        UserDetails userDetails = observe("user_load", () -> this.userDetailsService.loadUserByUsername(username));
+        
+        if (!observe("validate", () -> jwtService.validateToken(jwt, userDetails.getUsername()))) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+    }
+    
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(String jwt, String username) {
+        Long tokenVersion = observe("parse", () -> jwtService.extractTokenVersion(jwt));
+        if (tokenVersion == null) {
+            return authenticateFromUserDetails(jwt, username);
+        }
+        if (!observe("validate", () -> tokenVersionRegistry.isCurrent(username, tokenVersion)
+                && jwtService.validateToken(jwt, username))) {
+            return null;
+        }
+        
+        List<GrantedAuthority> authorities = observe("parse", () -> jwtService.extractAuthorities(jwt));
+        UserDetails principal = org.springframework.security.core.userdetails.User.builder()
+                .username(username)
+                .password("")
+                .authorities(authorities)
+                .build();
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+    
+    private <T> T observe(String phase, Supplier<T> call) {
+        return Observation.createNotStarted("auth.jwt.filter", observationRegistry)
+                .contextualName("jwt " + phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(call);
+    }
+    
+    private static Counter outcomeCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.jwt.authentications")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
-
@@ -1,26 +1,76 @@
 package com.example.project2.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    static final String AUTHORITIES_CLAIM = "roles";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+    
     @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
     private String secret;
     
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+    
+    @Value("${jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize;
+    
+    @Value("${jwt.claims-cache.max-ttl:5m}")
+    private Duration claimsCacheMaxTtl;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+    
+    public JwtService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new ClaimsExpiry(claimsCacheMaxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
     }
     
     public String extractUsername(String token) {
@@ -31,17 +81,41 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
     
+    public List<GrantedAuthority> extractAuthorities(String token) {
+        List<?> authorities = extractClaim(token, claims -> claims.get(AUTHORITIES_CLAIM, List.class));
+        if (authorities == null) {
+            return List.of();
+        }
+        return authorities.stream()
+                .<GrantedAuthority>map(authority -> new SimpleGrantedAuthority(authority.toString()))
+                .toList();
+    }
+    
+    public Long extractTokenVersion(String token) {
+        return extractClaim(token, claims -> claims.get(TOKEN_VERSION_CLAIM, Long.class));
+    }
+    
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsCache.get(tokenHash(token), key -> parser.parseSignedClaims(token).getPayload());
+    }
+    
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
     }
     
     private Boolean isTokenExpired(String token) {
@@ -49,15 +123,22 @@ public class JwtService {
     }
     
     public String generateToken(String username) {
-        return createToken(username);
+        return createToken(username, Map.of());
     }
     
-    private String createToken(String subject) {
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities, long tokenVersion) {
+        return createToken(username, Map.of(
+                AUTHORITIES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+                TOKEN_VERSION_CLAIM, tokenVersion));
+    }
+    
+    private String createToken(String subject, Map<String, ?> claims) {
         return Jwts.builder()
                 .subject(subject)
+                .claims(claims)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
@@ -65,5 +146,33 @@ public class JwtService {
         final String tokenUsername = extractUsername(token);
         return (tokenUsername.equals(username) && !isTokenExpired(token));
     }
+    
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+        
+        private final long maxTtlNanos;
+        
+        private ClaimsExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date tokenExpiration = claims.getExpiration();
+            if (tokenExpiration == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(tokenExpiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, untilExpiration));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
-
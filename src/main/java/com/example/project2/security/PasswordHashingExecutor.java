@@ -0,0 +1,50 @@
+package com.example.project2.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class PasswordHashingExecutor {
+    
+    private final ExecutorService executor;
+    
+    public PasswordHashingExecutor(
+            @Value("${auth.password.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "auth.password.hashing");
+        this.executor = ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build()::captureAll);
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new TaskRejectedException("Слишком много одновременных запросов аутентификации", e));
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
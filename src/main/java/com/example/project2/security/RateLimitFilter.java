@@ -0,0 +1,139 @@
+package com.example.project2.security;
+
+import com.example.project2.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> buckets;
+    private final Policy apiPolicy;
+    private final Policy authPolicy;
+    
+    public RateLimitFilter(
+            JwtService jwtService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${rate-limit.api.capacity:100}") long apiCapacity,
+            @Value("${rate-limit.api.refill-per-second:50}") double apiRefillPerSecond,
+            @Value("${rate-limit.auth.capacity:10}") long authCapacity,
+            @Value("${rate-limit.auth.refill-per-second:1}") double authRefillPerSecond) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+        this.apiPolicy = new Policy("api", apiCapacity, apiRefillPerSecond, meterRegistry);
+        this.authPolicy = new Policy("auth", authCapacity, authRefillPerSecond, meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean auth = request.getRequestURI().startsWith(request.getContextPath() + "/api/auth/");
+        Policy policy = auth ? authPolicy : apiPolicy;
+        String key = policy.name + ":" + (auth ? "ip:" + request.getRemoteAddr() : clientKey(request));
+        
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> new TokenBucket(policy.capacity, policy.refillPerSecond, now))
+                .tryConsume(now);
+        if (waitNanos == 0) {
+            policy.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        policy.rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Слишком много запросов, повторите позже",
+                "uri=" + request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+    
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                String username = jwtService.extractUsername(authHeader.substring(7));
+                if (username != null) {
+                    return "user:" + username;
+                }
+            } catch (RuntimeException e) {
+                // invalid or expired tokens are limited by client address
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private static class Policy {
+        
+        private final String name;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Counter allowed;
+        private final Counter rejected;
+        
+        Policy(String name, long capacity, double refillPerSecond, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.allowed = Counter.builder("rate.limit.requests")
+                    .tag("bucket", name)
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("rate.limit.requests")
+                    .tag("bucket", name)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+    }
+}
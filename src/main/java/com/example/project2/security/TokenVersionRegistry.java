@@ -0,0 +1,101 @@
+package com.example.project2.security;
+
+import com.example.project2.dto.UserTokenVersion;
+import com.example.project2.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TokenVersionRegistry {
+    
+    static final long REVOKED = -1L;
+    
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+    
+    private final UserRepository userRepository;
+    
+    private final Map<String, Entry> versions = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.stateless.version-refresh-interval:PT30S}")
+    public void refresh() {
+        if (!statelessEnabled) {
+            return;
+        }
+        // update() and revoke() that land while the snapshot is read are newer than it and must survive the merge
+        long snapshotSequence = writes.get();
+        Map<String, Long> snapshot = new HashMap<>();
+        for (UserTokenVersion version : userRepository.findAllTokenVersions()) {
+            snapshot.put(version.getUsername(), version.getTokenVersion());
+        }
+        snapshot.forEach((username, version) -> versions.compute(username, (key, existing) ->
+                existing != null && existing.wins(snapshotSequence) ? existing : new Entry(version, snapshotSequence)));
+        versions.entrySet().removeIf(entry -> !snapshot.containsKey(entry.getKey())
+                && !entry.getValue().wins(snapshotSequence));
+    }
+    
+    public long currentVersion(String username) {
+        Entry cached = versions.get(username);
+        if (cached != null) {
+            return cached.version;
+        }
+        long current = userRepository.findTokenVersionByUsername(username).orElse(REVOKED);
+        if (current != REVOKED) {
+            versions.putIfAbsent(username, new Entry(current, 0));
+        }
+        return current;
+    }
+    
+    public boolean isCurrent(String username, long tokenVersion) {
+        long current = currentVersion(username);
+        return current != REVOKED && current == tokenVersion;
+    }
+    
+    public void update(String username, long tokenVersion) {
+        afterCommit(() -> versions.put(username, new Entry(tokenVersion, writes.incrementAndGet())));
+    }
+    
+    public void revoke(String username) {
+        afterCommit(() -> versions.put(username, new Entry(REVOKED, writes.incrementAndGet())));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!statelessEnabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * A cached version and the write sequence it was recorded at. Revocations are never undone by a
+     * refresh; only a later update() for the same username replaces them.
+     */
+    private record Entry(long version, long sequence) {
+        
+        boolean wins(long snapshotSequence) {
+            return version == REVOKED || sequence > snapshotSequence;
+        }
+    }
+}
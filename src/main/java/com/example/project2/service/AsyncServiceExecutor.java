@@ -0,0 +1,87 @@
+package com.example.project2.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+class AsyncServiceExecutor {
+    
+    private static final int DEFAULT_MAX_IN_FLIGHT = 200;
+    
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Semaphore inFlight;
+    private final Duration callTimeout;
+    
+    AsyncServiceExecutor(
+            @Qualifier("taskExecutor") Executor executor,
+            PlatformTransactionManager transactionManager,
+            @Value("${async.max-in-flight:0}") int maxInFlight,
+            @Value("${async.call-timeout:5s}") Duration callTimeout) {
+        int transactionTimeout = (int) Math.max(1, (callTimeout.toMillis() + 999) / 1000);
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(transactionTimeout);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setTimeout(transactionTimeout);
+        this.inFlight = new Semaphore(maxInFlight > 0 ? maxInFlight : defaultMaxInFlight(executor));
+        this.callTimeout = callTimeout;
+    }
+    
+    <T> CompletableFuture<T> readOnly(Supplier<T> call) {
+        return submit(() -> readOnlyTransaction.execute(status -> call.get()))
+                .orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    <T> CompletableFuture<T> inTransaction(Supplier<T> call) {
+        return submit(() -> writeTransaction.execute(status -> call.get()));
+    }
+    
+    CompletableFuture<Void> inTransaction(Runnable call) {
+        return inTransaction(() -> {
+            call.run();
+            return null;
+        });
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new TaskRejectedException("Слишком много одновременных асинхронных запросов"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    inFlight.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static int defaultMaxInFlight(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getMaxPoolSize() + pool.getQueueCapacity();
+        }
+        return DEFAULT_MAX_IN_FLIGHT;
+    }
+}
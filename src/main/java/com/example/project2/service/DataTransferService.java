@@ -0,0 +1,16 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.TransferFormat;
+import com.example.project2.dto.TransferJob;
+import com.example.project2.dto.TransferTable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface DataTransferService {
+    TransferJob exportTable(TransferTable table, TransferFormat format, OutputStream output);
+    TransferJob importTable(TransferTable table, TransferFormat format, InputStream input);
+    List<TransferJob> findJobs();
+    TransferJob findJob(String id);
+}
@@ -0,0 +1,150 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.TransferFormat;
+import com.example.project2.dto.TransferJob;
+import com.example.project2.dto.TransferTable;
+import jakarta.persistence.EntityManagerFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+@Service
+public class DataTransferServiceImpl implements DataTransferService {
+    
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JobRegistry<TransferJob> jobs;
+    
+    public DataTransferServiceImpl(
+            DataSource dataSource,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${transfer.job-history-size:100}") int jobHistorySize) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jobs = new JobRegistry<>(jobHistorySize, TransferJob::getId, "Задача переноса");
+    }
+    
+    @Override
+    public TransferJob exportTable(TransferTable table, TransferFormat format, OutputStream output) {
+        TransferJob job = jobs.register(new TransferJob(table, format, TransferJob.Direction.EXPORT));
+        String sql = "COPY " + table.getTableName() + " (" + table.getColumns() + ") TO STDOUT WITH " + format.getCopyOptions();
+        try (Connection connection = dataSource.getConnection()) {
+            long rows = copyManager(connection).copyOut(sql, new CountingOutputStream(output, job));
+            job.complete(rows);
+            return job;
+        } catch (SQLException | IOException e) {
+            job.fail(e.getMessage());
+            throw new DataAccessResourceFailureException("Ошибка выгрузки таблицы " + table.getTableName(), e);
+        }
+    }
+    
+    @Override
+    public TransferJob importTable(TransferTable table, TransferFormat format, InputStream input) {
+        if (!table.isImportable()) {
+            throw new IllegalArgumentException("Таблица " + table.getTableName() + " доступна только для выгрузки");
+        }
+        TransferJob job = jobs.register(new TransferJob(table, format, TransferJob.Direction.IMPORT));
+        String sql = "COPY " + table.getTableName() + " (" + table.getColumns() + ") FROM STDIN WITH " + format.getCopyOptions();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long rows = copyManager(connection).copyIn(sql, new CountingInputStream(input, job));
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT setval(" + table.getSequenceExpression() + ", max(id)) FROM "
+                            + table.getTableName() + " HAVING max(id) IS NOT NULL");
+                }
+                connection.commit();
+                // COPY bypasses Hibernate, so nothing cached from the imported table can be trusted any more
+                entityManagerFactory.getCache().evictAll();
+                job.complete(rows);
+                return job;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            job.fail(e.getMessage());
+            throw new DataAccessResourceFailureException("Ошибка загрузки таблицы " + table.getTableName(), e);
+        }
+    }
+    
+    @Override
+    public List<TransferJob> findJobs() {
+        return jobs.findAll();
+    }
+    
+    @Override
+    public TransferJob findJob(String id) {
+        return jobs.find(id);
+    }
+    
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+    
+    private static class CountingInputStream extends FilterInputStream {
+        
+        private final TransferJob job;
+        
+        CountingInputStream(InputStream in, TransferJob job) {
+            super(in);
+            this.job = job;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                job.addBytes(1);
+            }
+            return value;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                job.addBytes(count);
+            }
+            return count;
+        }
+    }
+    
+    private static class CountingOutputStream extends FilterOutputStream {
+        
+        private final TransferJob job;
+        
+        CountingOutputStream(OutputStream out, TransferJob job) {
+            super(out);
+            this.job = job;
+        }
+        
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            job.addBytes(1);
+        }
+        
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            job.addBytes(length);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.project2.service;
+
+import com.example.project2.exception.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+class JobRegistry<J> {
+    
+    private final Function<J, String> idOf;
+    private final String description;
+    private final Map<String, J> jobs;
+    
+    JobRegistry(int historySize, Function<J, String> idOf, String description) {
+        this.idOf = idOf;
+        this.description = description;
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, J> eldest) {
+                return size() > historySize;
+            }
+        };
+    }
+    
+    J register(J job) {
+        synchronized (jobs) {
+            jobs.put(idOf.apply(job), job);
+        }
+        return job;
+    }
+    
+    List<J> findAll() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+    
+    J find(String id) {
+        synchronized (jobs) {
+            J job = jobs.get(id);
+            if (job == null) {
+                throw new ResourceNotFoundException(description + " с id " + id + " не найдена");
+            }
+            return job;
+        }
+    }
+}
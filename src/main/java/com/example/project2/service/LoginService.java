@@ -0,0 +1,9 @@
+package com.example.project2.service;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LoginService {
+    CompletableFuture<Authentication> authenticateAsync(String username, String password);
+}
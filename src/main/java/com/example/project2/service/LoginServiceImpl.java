@@ -0,0 +1,103 @@
+package com.example.project2.service;
+
+import com.example.project2.security.CustomUserDetailsService;
+import com.example.project2.security.PasswordHashingExecutor;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Authenticates a login in three hops so that the BCrypt pool only ever hashes: the user is loaded on the
+ * async service executor, the password is checked (and re-encoded if its cost is outdated) on the hashing
+ * pool, and the re-encoded hash is written back in a transaction on the async service executor.
+ */
+@Service
+public class LoginServiceImpl implements LoginService {
+    
+    private static final String BAD_CREDENTIALS = "Неверное имя пользователя или пароль";
+    
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AsyncServiceExecutor asyncExecutor;
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+    
+    private volatile String userNotFoundPassword;
+    
+    public LoginServiceImpl(
+            CustomUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor,
+            AsyncServiceExecutor asyncExecutor) {
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.asyncExecutor = asyncExecutor;
+    }
+    
+    @Override
+    public CompletableFuture<Authentication> authenticateAsync(String username, String password) {
+        return asyncExecutor.readOnly(() -> findUser(username))
+                .thenCompose(user -> passwordHashingExecutor.submit(() -> verify(user, password)))
+                .thenCompose(this::saveRehashedPassword)
+                .thenApply(user -> UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+    
+    private Optional<UserDetails> findUser(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(userDetailsService.loadUserByUsername(username));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private VerifiedUser verify(Optional<UserDetails> candidate, String password) {
+        String presented = password != null ? password : "";
+        if (candidate.isEmpty()) {
+            // Hash anyway so that unknown usernames take as long as wrong passwords
+            passwordEncoder.matches(presented, userNotFoundPassword());
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        UserDetails user = candidate.get();
+        userDetailsChecker.check(user);
+        if (!passwordEncoder.matches(presented, user.getPassword())) {
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        String rehashedPassword = passwordEncoder.upgradeEncoding(user.getPassword())
+                ? passwordEncoder.encode(presented)
+                : null;
+        return new VerifiedUser(user, rehashedPassword);
+    }
+    
+    private CompletableFuture<UserDetails> saveRehashedPassword(VerifiedUser verified) {
+        if (verified.rehashedPassword() == null) {
+            return CompletableFuture.completedFuture(verified.user());
+        }
+        return asyncExecutor.inTransaction(
+                () -> userDetailsService.updatePassword(verified.user(), verified.rehashedPassword()));
+    }
+    
+    private String userNotFoundPassword() {
+        String encoded = userNotFoundPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode("userNotFoundPassword");
+            userNotFoundPassword = encoded;
+        }
+        return encoded;
+    }
+    
+    private record VerifiedUser(UserDetails user, String rehashedPassword) {
+    }
+}
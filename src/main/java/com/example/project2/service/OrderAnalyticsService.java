@@ -0,0 +1,15 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.RevenueBucket;
+import com.example.project2.dto.RevenueGranularity;
+import com.example.project2.dto.UserOrderStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderAnalyticsService {
+    UserOrderStats findUserOrderStats(Long userId);
+    List<UserOrderStats> findTopUserOrderStats(int limit);
+    List<RevenueBucket> findRevenue(RevenueGranularity granularity, LocalDateTime from, LocalDateTime to);
+    void refreshRollup();
+}
@@ -0,0 +1,88 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.RevenueBucket;
+import com.example.project2.dto.RevenueGranularity;
+import com.example.project2.dto.UserOrderStats;
+import com.example.project2.exception.ResourceNotFoundException;
+import com.example.project2.repository.OrderRepository;
+import com.example.project2.repository.OrderRevenueRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+    
+    static final int MAX_TOP_USERS = 1000;
+    
+    private final OrderRepository orderRepository;
+    private final OrderRevenueRollupRepository rollupRepository;
+    private final boolean rollupEnabled;
+    
+    public OrderAnalyticsServiceImpl(
+            OrderRepository orderRepository,
+            OrderRevenueRollupRepository rollupRepository,
+            @Value("${orders.analytics.rollup.enabled:false}") boolean rollupEnabled) {
+        this.orderRepository = orderRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupEnabled = rollupEnabled;
+    }
+    
+    @Override
+    public UserOrderStats findUserOrderStats(Long userId) {
+        return orderRepository.findUserOrderStats(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Пользователь с id " + userId + " не найден"));
+    }
+    
+    @Override
+    public List<UserOrderStats> findTopUserOrderStats(int limit) {
+        if (limit < 1 || limit > MAX_TOP_USERS) {
+            throw new IllegalArgumentException("Лимит должен быть от 1 до " + MAX_TOP_USERS);
+        }
+        return orderRepository.findTopUserOrderStats(PageRequest.of(0, limit));
+    }
+    
+    @Override
+    public List<RevenueBucket> findRevenue(RevenueGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Начало периода должно быть раньше конца");
+        }
+        LocalDateTime alignedFrom = granularity.truncate(from);
+        List<Object[]> rows = switch (granularity) {
+            case HOUR -> rollupEnabled
+                    ? rollupRepository.findHourlyRevenue(alignedFrom, to)
+                    : orderRepository.findHourlyRevenue(alignedFrom, to);
+            case DAY -> rollupEnabled
+                    ? rollupRepository.findDailyRevenue(alignedFrom, to)
+                    : orderRepository.findDailyRevenue(alignedFrom, to);
+        };
+        return rows.stream()
+                .map(OrderAnalyticsServiceImpl::toRevenueBucket)
+                .toList();
+    }
+    
+    @Override
+    @Transactional
+    @Scheduled(initialDelay = 0, fixedDelayString = "${orders.analytics.rollup.refresh-interval:PT1M}")
+    public void refreshRollup() {
+        if (!rollupEnabled) {
+            return;
+        }
+        rollupRepository.refreshChangedBuckets();
+    }
+    
+    private static RevenueBucket toRevenueBucket(Object[] row) {
+        LocalDateTime bucketStart = row[0] instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime()
+                : (LocalDateTime) row[0];
+        return new RevenueBucket(bucketStart, ((Number) row[1]).longValue(), (BigDecimal) row[2]);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.OrderBatchResponse;
+import com.example.project2.dto.OrderRequest;
+
+import java.util.Iterator;
+
+public interface OrderBatchService {
+    OrderBatchResponse createOrders(Iterator<OrderRequest> requests);
+}
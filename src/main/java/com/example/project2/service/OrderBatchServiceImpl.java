@@ -0,0 +1,138 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.OrderBatchResponse;
+import com.example.project2.dto.OrderRequest;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderBatchServiceImpl implements OrderBatchService {
+    
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+    
+    public OrderBatchServiceImpl(
+            UserRepository userRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            @Value("${orders.batch.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public OrderBatchResponse createOrders(Iterator<OrderRequest> requests) {
+        OrderBatchResponse response = new OrderBatchResponse();
+        List<IndexedRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        
+        while (true) {
+            OrderRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (IllegalArgumentException e) {
+                response.addError(index++, e.getMessage());
+                continue;
+            }
+            
+            if (request == null) {
+                response.addError(index++, "Пустой элемент");
+                continue;
+            }
+            String violations = validate(request);
+            if (violations != null) {
+                response.addError(index++, violations);
+                continue;
+            }
+            
+            chunk.add(new IndexedRequest(index++, request));
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, response);
+        }
+        
+        response.setReceived(index);
+        return response;
+    }
+    
+    private void saveChunk(List<IndexedRequest> chunk, OrderBatchResponse response) {
+        List<IndexedRequest> missingUsers = new ArrayList<>();
+        try {
+            int created = transactionTemplate.execute(status -> {
+                Set<Long> userIds = chunk.stream()
+                        .map(item -> item.request().getUserId())
+                        .collect(Collectors.toSet());
+                Set<Long> existingUserIds = userRepository.findExistingIds(userIds);
+                
+                int persisted = 0;
+                for (IndexedRequest item : chunk) {
+                    Long userId = item.request().getUserId();
+                    if (!existingUserIds.contains(userId)) {
+                        missingUsers.add(item);
+                        continue;
+                    }
+                    Order order = new Order();
+                    order.setTitle(item.request().getTitle());
+                    order.setPrice(item.request().getPrice());
+                    order.setUser(entityManager.getReference(User.class, userId));
+                    entityManager.persist(order);
+                    persisted++;
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return persisted;
+            });
+            response.setCreated(response.getCreated() + created);
+            for (IndexedRequest item : missingUsers) {
+                response.addError(item.index(), "Пользователь с id " + item.request().getUserId() + " не найден");
+            }
+        } catch (DataAccessException e) {
+            for (IndexedRequest item : chunk) {
+                response.addError(item.index(), "Ошибка сохранения: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+    
+    private String validate(OrderRequest request) {
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    private record IndexedRequest(int index, OrderRequest request) {
+    }
+}
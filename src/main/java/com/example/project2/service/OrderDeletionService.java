@@ -0,0 +1,12 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.OrderDeletionJob;
+
+import java.util.List;
+
+public interface OrderDeletionService {
+    OrderDeletionJob deleteOrdersByUserId(Long userId);
+    OrderDeletionJob startDeleteOrdersByUserId(Long userId);
+    List<OrderDeletionJob> findJobs();
+    OrderDeletionJob findJob(String id);
+}
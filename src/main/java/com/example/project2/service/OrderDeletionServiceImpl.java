@@ -0,0 +1,99 @@
+package com.example.project2.service;
+
+import com.example.project2.dto.OrderDeletionJob;
+import com.example.project2.exception.ResourceNotFoundException;
+import com.example.project2.repository.OrderRepository;
+import com.example.project2.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+
+@Service
+public class OrderDeletionServiceImpl implements OrderDeletionService {
+    
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final Executor executor;
+    private final int chunkSize;
+    private final JobRegistry<OrderDeletionJob> jobs;
+    
+    public OrderDeletionServiceImpl(
+            OrderRepository orderRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("taskExecutor") Executor executor,
+            @Value("${orders.deletion.chunk-size:1000}") int chunkSize,
+            @Value("${orders.deletion.job-history-size:100}") int jobHistorySize) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.jobs = new JobRegistry<>(jobHistorySize, OrderDeletionJob::getId, "Задача удаления");
+    }
+    
+    @Override
+    @Transactional
+    public OrderDeletionJob deleteOrdersByUserId(Long userId) {
+        requireUser(userId);
+        OrderDeletionJob job = jobs.register(new OrderDeletionJob(userId));
+        run(job, () -> orderRepository.deleteChunkByUserId(userId, chunkSize));
+        return job;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderDeletionJob startDeleteOrdersByUserId(Long userId) {
+        requireUser(userId);
+        OrderDeletionJob job = jobs.register(new OrderDeletionJob(userId));
+        try {
+            executor.execute(() -> run(job, () -> chunkTransaction.execute(
+                    status -> orderRepository.deleteChunkByUserId(userId, chunkSize))));
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+        return job;
+    }
+    
+    @Override
+    public List<OrderDeletionJob> findJobs() {
+        return jobs.findAll();
+    }
+    
+    @Override
+    public OrderDeletionJob findJob(String id) {
+        return jobs.find(id);
+    }
+    
+    private void run(OrderDeletionJob job, IntSupplier deleteChunk) {
+        try {
+            int deleted;
+            do {
+                deleted = deleteChunk.getAsInt();
+                job.addDeletedRows(deleted);
+            } while (deleted == chunkSize);
+            job.complete();
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+    }
+    
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Пользователь с id " + userId + " не найден");
+        }
+    }
+}
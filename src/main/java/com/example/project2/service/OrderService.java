@@ -1,16 +1,20 @@
 package com.example.project2.service;
 
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.SliceResponse;
 import com.example.project2.model.Order;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface OrderService {
-    List<Order> findAllOrders();
-    CompletableFuture<List<Order>> findAllOrdersAsync();
+    SliceResponse<OrderSummary> findOrdersSlice(String cursor, int size);
+    CompletableFuture<SliceResponse<OrderSummary>> findOrdersSliceAsync(String cursor, int size);
+    void streamAllOrders(Consumer<OrderSummary> consumer);
     Order findOrderById(Long id);
     CompletableFuture<Order> findOrderByIdAsync(Long id);
-    List<Order> findOrdersByUserId(Long userId);
-    CompletableFuture<List<Order>> findOrdersByUserIdAsync(Long userId);
+    List<OrderSummary> findOrdersByUserId(Long userId);
+    CompletableFuture<List<OrderSummary>> findOrdersByUserIdAsync(Long userId);
     Order createOrder(Order order);
     CompletableFuture<Order> createOrderAsync(Order order);
     Order updateOrder(Long id, Order order);
@@ -18,4 +22,3 @@ public interface OrderService {
     void deleteOrder(Long id);
     CompletableFuture<Void> deleteOrderAsync(Long id);
 }
-
@@ -1,70 +1,116 @@
 package com.example.project2.service;
 
+import com.example.project2.dto.OrderCursor;
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.SliceResponse;
 import com.example.project2.exception.ResourceNotFoundException;
 import com.example.project2.model.Order;
 import com.example.project2.model.User;
 import com.example.project2.repository.OrderRepository;
 import com.example.project2.repository.UserRepository;
-import org.springframework.scheduling.annotation.Async;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "service.calls")
 @Transactional
 public class OrderServiceImpl implements OrderService {
     
+    static final int MAX_SLICE_SIZE = 500;
+    
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final AsyncServiceExecutor asyncExecutor;
     
-    public OrderServiceImpl(OrderRepository orderRepository, UserRepository userRepository) {
+    public OrderServiceImpl(
+            OrderRepository orderRepository,
+            UserRepository userRepository,
+            AsyncServiceExecutor asyncExecutor) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.asyncExecutor = asyncExecutor;
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Order> findAllOrders() {
-        return orderRepository.findAll();
+    public SliceResponse<OrderSummary> findOrdersSlice(String cursor, int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + MAX_SLICE_SIZE);
+        }
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<OrderSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = orderRepository.findFirstSlice(pageRequest);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            slice = orderRepository.findSliceAfter(after.getCreatedAt(), after.getId(), pageRequest);
+        }
+        
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            OrderSummary last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new SliceResponse<>(slice.getContent(), nextCursor, slice.hasNext());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<SliceResponse<OrderSummary>> findOrdersSliceAsync(String cursor, int size) {
+        return asyncExecutor.readOnly(() -> findOrdersSlice(cursor, size));
     }
     
     @Override
-    @Async
     @Transactional(readOnly = true)
-    public CompletableFuture<List<Order>> findAllOrdersAsync() {
-        return CompletableFuture.completedFuture(orderRepository.findAll());
+    public void streamAllOrders(Consumer<OrderSummary> consumer) {
+        try (Stream<OrderSummary> orders = orderRepository.streamAll()) {
+            orders.forEach(consumer);
+        }
     }
     
     @Override
     @Transactional(readOnly = true)
     public Order findOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithUserById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Заказ с id " + id + " не найден"));
     }
     
     @Override
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Order> findOrderByIdAsync(Long id) {
-        return CompletableFuture.completedFuture(findOrderById(id));
+        return asyncExecutor.readOnly(() -> findOrderById(id));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Order> findOrdersByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
+    public List<OrderSummary> findOrdersByUserId(Long userId) {
+        List<OrderSummary> orders = orderRepository.findSummariesByUserId(userId);
+        if (orders.isEmpty() && !userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("Пользователь с id " + userId + " не найден");
         }
-        return orderRepository.findByUserId(userId);
+        return orders;
     }
     
     @Override
-    @Async
-    @Transactional(readOnly = true)
-    public CompletableFuture<List<Order>> findOrdersByUserIdAsync(Long userId) {
-        return CompletableFuture.completedFuture(findOrdersByUserId(userId));
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<List<OrderSummary>> findOrdersByUserIdAsync(Long userId) {
+        CompletableFuture<Boolean> userExists = asyncExecutor.readOnly(() -> userRepository.existsById(userId));
+        CompletableFuture<List<OrderSummary>> orders = asyncExecutor.readOnly(() -> orderRepository.findSummariesByUserId(userId));
+        return userExists.thenCombine(orders, (exists, userOrders) -> {
+            if (userOrders.isEmpty() && !exists) {
+                throw new ResourceNotFoundException("Пользователь с id " + userId + " не найден");
+            }
+            return userOrders;
+        });
     }
     
     @Override
@@ -79,9 +125,9 @@ public class OrderServiceImpl implements OrderService {
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Order> createOrderAsync(Order order) {
-        return CompletableFuture.completedFuture(createOrder(order));
+        return asyncExecutor.inTransaction(() -> createOrder(order));
     }
     
     @Override
@@ -98,24 +144,22 @@ public class OrderServiceImpl implements OrderService {
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Order> updateOrderAsync(Long id, Order order) {
-        return CompletableFuture.completedFuture(updateOrder(id, order));
+        return asyncExecutor.inTransaction(() -> updateOrder(id, order));
     }
     
     @Override
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
+        if (orderRepository.deleteOrderById(id) == 0) {
             throw new ResourceNotFoundException("Заказ с id " + id + " не найден");
         }
-        orderRepository.deleteById(id);
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Void> deleteOrderAsync(Long id) {
-        deleteOrder(id);
-        return CompletableFuture.completedFuture(null);
+        return asyncExecutor.inTransaction(() -> deleteOrder(id));
     }
 }
 
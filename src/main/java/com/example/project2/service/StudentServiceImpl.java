@@ -2,10 +2,12 @@ package com.example.project2.service;
 
 import com.example.project2.model.StudentModel;
 import com.example.project2.repository.StudentRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 @Service
+@Observed(name = "service.calls")
 public class StudentServiceImpl implements StudentService {
 
     private final StudentRepository repository;
@@ -1,5 +1,6 @@
 package com.example.project2.service;
 
+import com.example.project2.model.Role;
 import com.example.project2.model.User;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -13,8 +14,10 @@ public interface UserService {
     CompletableFuture<User> createUserAsync(User user);
     User updateUser(Long id, User user);
     CompletableFuture<User> updateUserAsync(Long id, User user);
+    User changeRole(Long id, Role role);
     void deleteUser(Long id);
     CompletableFuture<Void> deleteUserAsync(Long id);
     User findByUsername(String username);
+    CompletableFuture<Long> findTokenVersionAsync(String username);
 }
 
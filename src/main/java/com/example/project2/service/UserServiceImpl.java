@@ -1,23 +1,47 @@
 package com.example.project2.service;
 
+import com.example.project2.dto.UserIdentity;
 import com.example.project2.exception.ResourceNotFoundException;
+import com.example.project2.model.Role;
 import com.example.project2.model.User;
 import com.example.project2.repository.UserRepository;
-import org.springframework.scheduling.annotation.Async;
+import com.example.project2.security.CustomUserDetailsService;
+import com.example.project2.security.TokenVersionRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Service
+@Observed(name = "service.calls")
 @Transactional
 public class UserServiceImpl implements UserService {
     
+    private static final String DUPLICATE_USERNAME = "Пользователь с таким именем уже существует";
+    private static final String DUPLICATE_EMAIL = "Пользователь с таким email уже существует";
+    
     private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final OrderDeletionService orderDeletionService;
+    private final AsyncServiceExecutor asyncExecutor;
     
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(
+            UserRepository userRepository,
+            CustomUserDetailsService userDetailsService,
+            TokenVersionRegistry tokenVersionRegistry,
+            OrderDeletionService orderDeletionService,
+            AsyncServiceExecutor asyncExecutor) {
         this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.orderDeletionService = orderDeletionService;
+        this.asyncExecutor = asyncExecutor;
     }
     
     @Override
@@ -27,10 +51,9 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<List<User>> findAllUsersAsync() {
-        return CompletableFuture.completedFuture(userRepository.findAll());
+        return asyncExecutor.readOnly(userRepository::findAll);
     }
     
     @Override
@@ -41,57 +64,98 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<User> findUserByIdAsync(Long id) {
-        return CompletableFuture.completedFuture(findUserById(id));
+        return asyncExecutor.readOnly(() -> findUserById(id));
     }
     
     @Override
     public User createUser(User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new IllegalArgumentException("Пользователь с таким именем уже существует");
+        List<UserIdentity> conflicts = userRepository.findByUsernameOrEmail(user.getUsername(), user.getEmail());
+        for (UserIdentity conflict : conflicts) {
+            if (conflict.getUsername().equals(user.getUsername())) {
+                throw new IllegalArgumentException(DUPLICATE_USERNAME);
+            }
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Пользователь с таким email уже существует");
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException(DUPLICATE_EMAIL);
         }
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        tokenVersionRegistry.update(savedUser.getUsername(), savedUser.getTokenVersion());
+        return savedUser;
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<User> createUserAsync(User user) {
-        return CompletableFuture.completedFuture(createUser(user));
+        return asyncExecutor.inTransaction(() -> createUser(user));
     }
     
     @Override
     public User updateUser(Long id, User user) {
         User existingUser = findUserById(id);
+        String previousUsername = existingUser.getUsername();
+        userDetailsService.evict(previousUsername);
         existingUser.setUsername(user.getUsername());
         existingUser.setEmail(user.getEmail());
         existingUser.setPassword(user.getPassword());
-        return userRepository.save(existingUser);
+        existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
+        User savedUser = saveUser(existingUser);
+        if (!previousUsername.equals(savedUser.getUsername())) {
+            tokenVersionRegistry.revoke(previousUsername);
+        }
+        tokenVersionRegistry.update(savedUser.getUsername(), savedUser.getTokenVersion());
+        return savedUser;
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<User> updateUserAsync(Long id, User user) {
-        return CompletableFuture.completedFuture(updateUser(id, user));
+        return asyncExecutor.inTransaction(() -> updateUser(id, user));
+    }
+    
+    @Override
+    public User changeRole(Long id, Role role) {
+        User user = findUserById(id);
+        // Roles are copied into issued JWTs and cached user details, so both have to be invalidated
+        userDetailsService.evict(user.getUsername());
+        user.setRole(role);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = saveUser(user);
+        tokenVersionRegistry.update(savedUser.getUsername(), savedUser.getTokenVersion());
+        return savedUser;
     }
     
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Пользователь с id " + id + " не найден");
-        }
-        userRepository.deleteById(id);
+        User user = findUserById(id);
+        userDetailsService.evict(user.getUsername());
+        tokenVersionRegistry.revoke(user.getUsername());
+        orderDeletionService.deleteOrdersByUserId(id);
+        userRepository.delete(user);
     }
     
     @Override
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Void> deleteUserAsync(Long id) {
-        deleteUser(id);
-        return CompletableFuture.completedFuture(null);
+        return asyncExecutor.inTransaction(() -> deleteUser(id));
+    }
+    
+    private User saveUser(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException violation
+                    ? String.valueOf(violation.getConstraintName()).toLowerCase()
+                    : "";
+            if (constraint.contains("uk_users_username")) {
+                throw new IllegalArgumentException(DUPLICATE_USERNAME);
+            }
+            if (constraint.contains("uk_users_email")) {
+                throw new IllegalArgumentException(DUPLICATE_EMAIL);
+            }
+            throw e;
+        }
     }
     
     @Override
@@ -100,5 +164,10 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Пользователь с именем " + username + " не найден"));
     }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Long> findTokenVersionAsync(String username) {
+        return asyncExecutor.readOnly(() -> userRepository.findTokenVersionByUsername(username).orElse(0L));
+    }
 }
-
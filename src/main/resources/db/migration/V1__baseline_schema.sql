@@ -0,0 +1,32 @@
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    token_version BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE SEQUENCE orders_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id         BIGINT         PRIMARY KEY,
+    title      VARCHAR(255)   NOT NULL,
+    price      NUMERIC(38, 2) NOT NULL,
+    created_at TIMESTAMP(6)   NOT NULL,
+    user_id    BIGINT         NOT NULL,
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE order_revenue_hourly (
+    bucket_start TIMESTAMP(6)   PRIMARY KEY,
+    order_count  BIGINT         NOT NULL,
+    revenue      NUMERIC(38, 2) NOT NULL
+);
+
+CREATE TABLE student_model (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(255),
+    email VARCHAR(255)
+);
@@ -0,0 +1,7 @@
+-- users.username and users.email are already backed by their unique constraints
+
+-- findSummariesByUserId / findUserOrderStats: equality on user_id, ordered by (created_at, id)
+CREATE INDEX idx_orders_user_id_created_at ON orders (user_id, created_at, id);
+
+-- keyset pagination, NDJSON export and revenue buckets: range and ordering on (created_at, id)
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
@@ -0,0 +1,2 @@
+-- ADMIN is granted by an operator directly in the database; clients can never set it through the API
+ALTER TABLE users ADD COLUMN role VARCHAR(20) NOT NULL DEFAULT 'USER';
@@ -0,0 +1,50 @@
+package com.example.project2;
+
+import com.example.project2.config.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    public void testExcessRequestsAreRejectedImmediately() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void testLimitGrowsWithStableLatencyAndShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 200);
+
+        saturate(limiter, 10 * MILLIS, 50);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        saturate(limiter, 100 * MILLIS, 20);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown, "limit " + shrunk + " after " + grown);
+        assertTrue(shrunk >= 10);
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
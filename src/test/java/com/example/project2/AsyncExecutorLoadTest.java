@@ -0,0 +1,149 @@
+package com.example.project2;
+
+import com.example.project2.config.AsyncConfig;
+import com.example.project2.config.ConcurrencyLimitingDataSource;
+import com.example.project2.config.JdbcConcurrencyConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+public class AsyncExecutorLoadTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int JDBC_POOL_SIZE = 10;
+    private static final long QUERY_MILLIS = 5;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(AsyncConfig.class, JdbcConcurrencyConfig.class, DataSourceConfig.class)
+            .withPropertyValues(
+                    "async.pool.core-size=5",
+                    "async.pool.max-size=10",
+                    "async.pool.queue-capacity=100",
+                    "jdbc.concurrency-limit.enabled=true");
+
+    @Test
+    public void testPlatformPoolRejectsBeyondQueueCapacity() {
+        contextRunner.run(context -> {
+            Result result = run(context.getBean("taskExecutor", Executor.class), context.getBean(DataSource.class));
+            report("platform", result);
+
+            assertEquals(REQUESTS, result.completed + result.rejected);
+            assertTrue(result.rejected > 0, "a burst larger than pool + queue must be rejected");
+            assertTrue(result.completed >= 110, "pool threads and queue must all be used");
+            assertEquals(0, result.failed);
+            assertTrue(result.peakConnections <= JDBC_POOL_SIZE);
+        });
+    }
+
+    @Test
+    public void testVirtualThreadsAreBoundedByJdbcLimit() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21+");
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Result result = run(context.getBean("taskExecutor", Executor.class), context.getBean(DataSource.class));
+            report("virtual", result);
+
+            assertEquals(0, result.rejected);
+            assertEquals(REQUESTS, result.completed);
+            assertEquals(0, result.failed);
+            assertTrue(result.peakConnections <= JDBC_POOL_SIZE);
+        });
+    }
+
+    private Result run(Executor executor, DataSource dataSource) throws Exception {
+        ConcurrencyLimitingDataSource limited = assertInstanceOf(ConcurrencyLimitingDataSource.class, dataSource);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger peakConnections = new AtomicInteger();
+        Histogram latencies = new ConcurrentHistogram(3_600_000_000L, 3);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            long submittedAt = System.nanoTime();
+            try {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try (Connection connection = limited.getConnection(); Statement statement = connection.createStatement()) {
+                        peakConnections.accumulateAndGet(JDBC_POOL_SIZE - limited.getAvailablePermits(), Math::max);
+                        statement.execute("SELECT 1");
+                        Thread.sleep(QUERY_MILLIS);
+                    } catch (SQLException e) {
+                        failed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.incrementAndGet();
+                    }
+                    // includes the time spent queued behind the executor and the JDBC limiter
+                    latencies.recordValue(Math.max(1, (System.nanoTime() - submittedAt) / 1000));
+                }, executor));
+            } catch (TaskRejectedException e) {
+                rejected.incrementAndGet();
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+        return new Result(futures.size(), rejected.get(), failed.get(), peakConnections.get(),
+                latencies, System.nanoTime() - start);
+    }
+
+    private static void report(String mode, Result result) throws IOException {
+        Histogram latencies = result.latencies;
+        Path reportFile = Path.of("target", "load-test", "async-executor-" + mode + ".hgrm");
+        Files.createDirectories(reportFile.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile))) {
+            out.printf("# %-8s completed=%d rejected=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms max=%.2f ms "
+                            + "peakConnections=%d%n",
+                    mode,
+                    result.completed,
+                    result.rejected,
+                    result.completed / (result.elapsedNanos / 1_000_000_000.0),
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getMaxValue() / 1000.0,
+                    result.peakConnections);
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class DataSourceConfig {
+
+        @Bean
+        HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:async-load;DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(JDBC_POOL_SIZE);
+            return dataSource;
+        }
+    }
+
+    private record Result(int completed, int rejected, int failed, int peakConnections,
+                          Histogram latencies, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project2;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer-security;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "transfer.enabled=true"
+})
+public class DataTransferSecurityTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testTransferIsRestrictedToAdmins() {
+        register("transfer-user");
+        register("transfer-admin");
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE username = ?", "transfer-admin");
+
+        assertEquals(HttpStatus.FORBIDDEN, getJobs(login("transfer-user")).getStatusCode());
+        assertEquals(HttpStatus.OK, getJobs(login("transfer-admin")).getStatusCode());
+    }
+
+    @Test
+    public void testRoleCannotBeSetThroughRegistration() {
+        restTemplate.postForEntity(url("/api/auth/register"), Map.of("username", "transfer-sneaky",
+                "email", "transfer-sneaky@example.com", "password", "password", "role", "ADMIN"), Map.class);
+
+        assertEquals("USER", jdbcTemplate.queryForObject(
+                "SELECT role FROM users WHERE username = ?", String.class, "transfer-sneaky"));
+        assertEquals(HttpStatus.FORBIDDEN, getJobs(login("transfer-sneaky")).getStatusCode());
+    }
+
+    private void register(String username) {
+        restTemplate.postForEntity(url("/api/auth/register"),
+                Map.of("username", username, "email", username + "@example.com", "password", "password"), Map.class);
+    }
+
+    private String login(String username) {
+        ResponseEntity<Map> login = restTemplate.postForEntity(url("/api/auth/login"),
+                Map.of("username", username, "password", "password"), Map.class);
+        return (String) login.getBody().get("token");
+    }
+
+    private ResponseEntity<String> getJobs(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url("/api/transfer/jobs"), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.project2;
+
+import com.example.project2.dto.TransferFormat;
+import com.example.project2.dto.TransferJob;
+import com.example.project2.dto.TransferTable;
+import com.example.project2.service.DataTransferServiceImpl;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataTransferServiceTest {
+
+    private PGSimpleDataSource dataSource;
+    private DataTransferServiceImpl dataTransferService;
+    private Cache secondLevelCache;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(System.getProperty("transfer.test.url", "jdbc:postgresql://localhost:5432/testdb"));
+        dataSource.setUser(System.getProperty("transfer.test.user", "postgres"));
+        dataSource.setPassword(System.getProperty("transfer.test.password", "1"));
+        dataSource.setCurrentSchema("transfer_test");
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        } catch (SQLException e) {
+            Assumptions.abort("Локальный PostgreSQL недоступен: " + e.getMessage());
+        }
+
+        execute("DROP SCHEMA IF EXISTS transfer_test CASCADE",
+                "CREATE SCHEMA transfer_test",
+                "CREATE TABLE transfer_test.users (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                        + "username varchar(255) NOT NULL, email varchar(255) NOT NULL, password varchar(255) NOT NULL, "
+                        + "token_version bigint NOT NULL)",
+                "CREATE SEQUENCE transfer_test.orders_id_seq INCREMENT BY 50",
+                "CREATE TABLE transfer_test.orders (id bigint PRIMARY KEY, title varchar(255) NOT NULL, "
+                        + "price numeric(38, 2) NOT NULL, created_at timestamp NOT NULL, user_id bigint NOT NULL)",
+                "INSERT INTO transfer_test.users (username, email, password, token_version) "
+                        + "SELECT 'user' || i, 'user' || i || '@example.com', 'hash', 0 FROM generate_series(1, 3) i",
+                "INSERT INTO transfer_test.orders SELECT i, 'order ' || i, i * 10, now(), 1 FROM generate_series(1, 1000) i");
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        secondLevelCache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        dataTransferService = new DataTransferServiceImpl(dataSource, entityManagerFactory, 10);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransferFormat.class)
+    public void testOrdersRoundTrip(TransferFormat format) throws SQLException {
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        TransferJob exportJob = dataTransferService.exportTable(TransferTable.ORDERS, format, exported);
+
+        execute("TRUNCATE transfer_test.orders");
+        TransferJob importJob = dataTransferService.importTable(TransferTable.ORDERS, format,
+                new ByteArrayInputStream(exported.toByteArray()));
+
+        assertEquals(1000, exportJob.getRows());
+        assertEquals(1000, importJob.getRows());
+        assertEquals(exported.size(), importJob.getBytes());
+        assertEquals(TransferJob.Status.COMPLETED, importJob.getStatus());
+        assertEquals(1000L, queryLong("SELECT count(*) FROM transfer_test.orders"));
+        assertEquals(1050L, queryLong("SELECT nextval('transfer_test.orders_id_seq')"));
+        assertEquals(2, dataTransferService.findJobs().size());
+        verify(secondLevelCache).evictAll();
+    }
+
+    @Test
+    public void testUsersAreExportedWithoutPasswords() {
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        TransferJob exportJob = dataTransferService.exportTable(TransferTable.USERS, TransferFormat.CSV, exported);
+
+        String csv = exported.toString(StandardCharsets.UTF_8);
+        assertEquals(3, exportJob.getRows());
+        assertTrue(csv.startsWith("id,username,email\n"), csv);
+        assertFalse(csv.contains("hash"), csv);
+    }
+
+    @Test
+    public void testUsersCannotBeImported() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> dataTransferService.importTable(TransferTable.USERS, TransferFormat.CSV,
+                        new ByteArrayInputStream("id,username,email\n".getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals("Таблица users доступна только для выгрузки", exception.getMessage());
+        assertTrue(dataTransferService.findJobs().isEmpty());
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
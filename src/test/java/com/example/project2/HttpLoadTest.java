@@ -0,0 +1,288 @@
+package com.example.project2;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "rate-limit.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn"
+})
+public class HttpLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 200);
+    private static final int ORDERS = Integer.getInteger("load.orders", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final String PASSWORD = "password";
+    private static final String SCHEMA = "load_test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws SQLException {
+        String url = System.getProperty("load.test.url");
+        if (url != null) {
+            String user = System.getProperty("load.test.user", "postgres");
+            String password = System.getProperty("load.test.password", "1");
+            // seed() writes fixed ids, so every run starts from a scratch schema instead of the default one
+            try (Connection connection = DriverManager.getConnection(url, user, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+            registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+            registry.add("spring.datasource.username", () -> user);
+            registry.add("spring.datasource.password", () -> password);
+            registry.add("spring.flyway.schemas", () -> SCHEMA);
+            return;
+        }
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.database", () -> "h2");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+    }
+
+    @Test
+    public void testMixedWorkload() throws Exception {
+        seed();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= Math.min(USERS, CONCURRENCY); i++) {
+            tokens.add(login("load" + i));
+        }
+
+        Operation[] operations = {
+                new Operation("POST /api/auth/login", 5, (token, userId) -> post("/api/auth/login",
+                        Map.of("username", "load" + userId, "password", PASSWORD))),
+                new Operation("GET /api/orders", 20, (token, userId) -> get("/api/orders?size=50", token)),
+                new Operation("GET /api/orders/async", 10, (token, userId) -> get("/api/orders/async?size=50", token)),
+                new Operation("GET /api/orders/user/{id}", 20, (token, userId) -> get("/api/orders/user/" + userId, token)),
+                new Operation("GET /api/orders/user/{id}/async", 15, (token, userId) ->
+                        get("/api/orders/user/" + userId + "/async", token)),
+                new Operation("GET /api/users/{id}", 15, (token, userId) -> get("/api/users/" + userId, token)),
+                new Operation("GET /api/users", 5, (token, userId) -> get("/api/users", token)),
+                new Operation("GET /api/users/async", 10, (token, userId) -> get("/api/users/async", token))
+        };
+
+        drive(operations, tokens, WARMUP);
+        for (Operation operation : operations) {
+            operation.reset();
+        }
+        long elapsedNanos = drive(operations, tokens, DURATION);
+
+        report(operations, elapsedNanos);
+        for (Operation operation : operations) {
+            assertTrue(operation.histogram.getTotalCount() > 0, operation.name);
+            assertEquals(0, operation.statuses.get(5), operation.name + " returned 5xx other than 503");
+        }
+    }
+
+    private void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[] {(long) i, "load" + i, "load" + i + "@example.com", hash});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, token_version) VALUES (?, ?, ?, ?, 0)", users);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> orders = new ArrayList<>(1000);
+        for (int i = 1; i <= ORDERS; i++) {
+            orders.add(new Object[] {(long) i, "order " + i, BigDecimal.valueOf(i % 1000 + 99, 2),
+                    Timestamp.valueOf(start.plusSeconds(i * 10L)), (long) (i % USERS + 1)});
+            if (orders.size() == 1000 || i == ORDERS) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (id, title, price, created_at, user_id) VALUES (?, ?, ?, ?, ?)", orders);
+                orders.clear();
+            }
+        }
+    }
+
+    private long drive(Operation[] operations, List<String> tokens, Duration duration) throws Exception {
+        int totalWeight = 0;
+        for (Operation operation : operations) {
+            totalWeight += operation.weight;
+        }
+        int weights = totalWeight;
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                String token = tokens.get(worker % tokens.size());
+                futures.add(workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick(operations, random.nextInt(weights));
+                        long userId = random.nextLong(1, USERS + 1);
+                        long sentAt = System.nanoTime();
+                        int status;
+                        try {
+                            status = operation.call.send(token, userId).statusCode();
+                        } catch (IOException e) {
+                            status = 599;
+                        }
+                        operation.record(System.nanoTime() - sentAt, status);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Operation pick(Operation[] operations, int roll) {
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private String login(String username) throws Exception {
+        HttpResponse<String> response = post("/api/auth/login", Map.of("username", username, "password", PASSWORD));
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void report(Operation[] operations, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Path reportFile = Path.of("target", "load-test", "http-load-test.hgrm");
+        Files.createDirectories(reportFile.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile))) {
+            for (Operation operation : operations) {
+                Histogram histogram = operation.histogram;
+                String line = String.format("%-32s count=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms "
+                                + "2xx=%d 4xx=%d 503=%d 5xx=%d",
+                        operation.name,
+                        histogram.getTotalCount(),
+                        histogram.getTotalCount() / seconds,
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getValueAtPercentile(99.9) / 1000.0,
+                        histogram.getMaxValue() / 1000.0,
+                        operation.statuses.get(2),
+                        operation.statuses.get(4),
+                        operation.statuses.get(0),
+                        operation.statuses.get(5));
+                out.println("# " + line);
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send(String token, long userId) throws IOException, InterruptedException;
+    }
+
+    private static class Operation {
+
+        private final String name;
+        private final int weight;
+        private final Call call;
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3_600_000_000L, 3);
+        private final AtomicLongArray statuses = new AtomicLongArray(6);
+
+        Operation(String name, int weight, Call call) {
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+
+        void record(long latencyNanos, int status) {
+            histogram.recordValue(Math.max(1, latencyNanos / 1000));
+            statuses.incrementAndGet(status == 503 ? 0 : Math.min(status / 100, 5));
+        }
+
+        void reset() {
+            histogram.reset();
+            for (int i = 0; i < statuses.length(); i++) {
+                statuses.set(i, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.project2;
+
+import com.example.project2.model.StudentModel;
+import com.example.project2.repository.InMemoryStudentDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryStudentDAOTest {
+
+    private InMemoryStudentDAO studentDAO;
+
+    @BeforeEach
+    public void setUp() {
+        studentDAO = new InMemoryStudentDAO();
+    }
+
+    @Test
+    public void testEmailIndexFollowsUpdatesAndDeletes() {
+        StudentModel created = studentDAO.createStudent(student("Иван Иванов", "ivan@example.com"));
+
+        created.setEmail("ivan.new@example.com");
+        studentDAO.updateStudent(created);
+
+        assertNull(studentDAO.findStudentByEmail("ivan@example.com"));
+        assertEquals(created.getId(), studentDAO.findStudentByEmail("IVAN.NEW@example.com").getId());
+
+        studentDAO.deleteStudent(created.getId());
+
+        assertNull(studentDAO.findStudentById(created.getId()));
+        assertNull(studentDAO.findStudentByEmail("ivan.new@example.com"));
+    }
+
+    @Test
+    public void testDuplicateEmailIsRejected() {
+        studentDAO.createStudent(student("Иван Иванов", "ivan@example.com"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> studentDAO.createStudent(student("Пётр Петров", "ivan@example.com")));
+        assertEquals(1, studentDAO.findAllStudent().size());
+    }
+
+    @Test
+    public void testConcurrentCreatesGetUniqueIds() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            executor.execute(() -> studentDAO.createStudent(student("Студент " + index, "student" + index + "@example.com")));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(1000, studentDAO.findAllStudent().size());
+        assertEquals(1000, studentDAO.findAllStudent().stream().map(StudentModel::getId).distinct().count());
+    }
+
+    private static StudentModel student(String name, String email) {
+        StudentModel student = new StudentModel();
+        student.setName(name);
+        student.setEmail(email);
+        return student;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project2;
+
+import com.example.project2.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(meterRegistry);
+        ReflectionTestUtils.setField(jwtService, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtService, "expiration", 60000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+    }
+
+    @Test
+    public void testRepeatedValidationHitsClaimsCache() {
+        String token = jwtService.generateToken("alice");
+
+        assertEquals("alice", jwtService.extractUsername(token));
+        assertTrue(jwtService.validateToken(token, "alice"));
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testStatelessClaimsRoundTrip() {
+        String token = jwtService.generateToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")), 3L);
+
+        List<GrantedAuthority> authorities = jwtService.extractAuthorities(token);
+        assertEquals(List.of("ROLE_USER"), authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals(3L, jwtService.extractTokenVersion(token));
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.project2;
+
+import com.example.project2.model.User;
+import com.example.project2.repository.UserRepository;
+import com.example.project2.security.CustomUserDetailsService;
+import com.example.project2.security.PasswordHashingExecutor;
+import com.example.project2.security.RehashingBCryptPasswordEncoder;
+import com.example.project2.service.LoginService;
+import com.example.project2.service.LoginServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "auth.password.pool-size=1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({LoginServiceImpl.class, PasswordHashingExecutor.class, LoginServiceTest.LoginConfig.class})
+public class LoginServiceTest {
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecordingUserDetailsService userDetailsService;
+
+    @Autowired
+    private RecordingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword(new RehashingBCryptPasswordEncoder(4).encode("password"));
+        userRepository.save(user);
+        passwordEncoder.threads.clear();
+        userDetailsService.threads.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+        userDetailsService.evict("alice");
+    }
+
+    @Test
+    public void testOutdatedHashIsUpgradedOutsideHashingPool() throws Exception {
+        Authentication authentication = loginService.authenticateAsync("alice", "password").get();
+
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("alice", authentication.getName());
+        String stored = userRepository.findByUsername("alice").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$05$"), stored);
+        assertFalse(passwordEncoder.upgradeEncoding(stored));
+        // matches + encode are the only work submitted to the hashing pool
+        assertEquals(2, passwordEncoder.threads.size());
+        assertTrue(passwordEncoder.threads.stream().allMatch(name -> name.startsWith("password-hashing-")),
+                passwordEncoder.threads.toString());
+        // loading the user and writing the new hash back stay on the service executor
+        assertEquals(2, userDetailsService.threads.size());
+        assertTrue(userDetailsService.threads.stream().allMatch(name -> name.startsWith("service-")),
+                userDetailsService.threads.toString());
+    }
+
+    @Test
+    public void testCurrentHashIsNotRewritten() throws Exception {
+        loginService.authenticateAsync("alice", "password").get();
+        String upgraded = userRepository.findByUsername("alice").orElseThrow().getPassword();
+        passwordEncoder.threads.clear();
+
+        loginService.authenticateAsync("alice", "password").get();
+
+        assertEquals(upgraded, userRepository.findByUsername("alice").orElseThrow().getPassword());
+        assertEquals(1, passwordEncoder.threads.size());
+    }
+
+    @Test
+    public void testWrongPasswordAndUnknownUserAreRejectedAlike() {
+        ExecutionException wrongPassword = assertThrows(ExecutionException.class,
+                () -> loginService.authenticateAsync("alice", "wrong").get());
+        ExecutionException unknownUser = assertThrows(ExecutionException.class,
+                () -> loginService.authenticateAsync("missing", "password").get());
+
+        assertInstanceOf(BadCredentialsException.class, wrongPassword.getCause());
+        assertInstanceOf(BadCredentialsException.class, unknownUser.getCause());
+        assertEquals(wrongPassword.getCause().getMessage(), unknownUser.getCause().getMessage());
+        assertTrue(passwordEncoder.threads.stream().allMatch(name -> name.startsWith("password-hashing-")),
+                passwordEncoder.threads.toString());
+    }
+
+    @TestConfiguration
+    @ComponentScan(basePackageClasses = LoginServiceImpl.class, useDefaultFilters = false,
+            includeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*\\.AsyncServiceExecutor"))
+    static class LoginConfig {
+
+        @Bean
+        public ExecutorService taskExecutor() {
+            return Executors.newFixedThreadPool(2, new CustomizableThreadFactory("service-"));
+        }
+
+        @Bean
+        public RecordingUserDetailsService userDetailsService(UserRepository userRepository,
+                                                              MeterRegistry meterRegistry) {
+            return new RecordingUserDetailsService(userRepository, meterRegistry);
+        }
+
+        @Bean
+        public RecordingPasswordEncoder passwordEncoder() {
+            return new RecordingPasswordEncoder();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    static class RecordingUserDetailsService extends CustomUserDetailsService {
+
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        RecordingUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry) {
+            super(userRepository, meterRegistry);
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            threads.add(Thread.currentThread().getName());
+            return super.loadUserByUsername(username);
+        }
+
+        @Override
+        public UserDetails updatePassword(UserDetails user, String newPassword) {
+            threads.add(Thread.currentThread().getName());
+            return super.updatePassword(user, newPassword);
+        }
+    }
+
+    static class RecordingPasswordEncoder extends RehashingBCryptPasswordEncoder {
+
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        RecordingPasswordEncoder() {
+            super(5);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            threads.add(Thread.currentThread().getName());
+            return super.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            threads.add(Thread.currentThread().getName());
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+}
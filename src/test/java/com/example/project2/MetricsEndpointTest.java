@@ -0,0 +1,71 @@
+package com.example.project2;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+public class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void testPrometheusIsServedOnManagementPortOnly() {
+        restTemplate.postForEntity(url(port, "/api/auth/register"),
+                Map.of("username", "metrics", "email", "metrics@example.com", "password", "password"), Map.class);
+        ResponseEntity<Map> login = restTemplate.postForEntity(url(port, "/api/auth/login"),
+                Map.of("username", "metrics", "password", "password"), Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.getBody().get("token"));
+        ResponseEntity<String> orders = restTemplate.exchange(url(port, "/api/orders"), HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity(url(managementPort, "/actuator/prometheus"), String.class);
+        String body = scrape.getBody();
+
+        assertNotEquals(port, managementPort);
+        assertEquals(HttpStatus.OK, orders.getStatusCode());
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(body.contains("http_server_requests_seconds_count{") && body.contains("uri=\"/api/orders\""));
+        assertTrue(body.contains("service_calls_seconds_count{class=\"com.example.project2.service.OrderServiceImpl\""));
+        assertTrue(body.contains("auth_jwt_filter_seconds_count{error=\"none\",phase=\"validate\"}"));
+        assertTrue(body.contains("auth_jwt_authentications_total{outcome=\"authenticated\"}"));
+        assertTrue(body.contains("executor_queued_tasks{name=\"taskExecutor\"}"));
+        assertTrue(body.contains("hikaricp_connections_active{"));
+        assertNotEquals(HttpStatus.OK, restTemplate.getForEntity(url(port, "/actuator/prometheus"), String.class).getStatusCode());
+    }
+
+    private static String url(int port, String path) {
+        return "http://localhost:" + port + path;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.project2;
+
+import com.example.project2.dto.OrderBatchError;
+import com.example.project2.dto.OrderBatchResponse;
+import com.example.project2.dto.OrderRequest;
+import com.example.project2.model.User;
+import com.example.project2.repository.OrderRepository;
+import com.example.project2.service.OrderBatchServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "orders.batch.chunk-size=2"
+})
+@Import(OrderBatchServiceImpl.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class OrderBatchServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderBatchServiceImpl orderBatchService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    public void testValidItemsAreSavedAndFailuresReportedPerIndex() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("password");
+        entityManager.persistAndFlush(user);
+
+        List<OrderRequest> requests = List.of(
+                request("Первый", "10.00", user.getId()),
+                request("", "10.00", user.getId()),
+                request("Второй", "20.00", user.getId()),
+                request("Чужой", "30.00", user.getId() + 1000),
+                request("Третий", "30.00", user.getId()));
+
+        OrderBatchResponse response = orderBatchService.createOrders(withUnparseableItemAt(requests, 2));
+
+        Map<Integer, String> errors = response.getErrors().stream()
+                .collect(Collectors.toMap(OrderBatchError::getIndex, OrderBatchError::getMessage));
+        assertEquals(6, response.getReceived());
+        assertEquals(3, response.getCreated());
+        assertEquals(3, orderRepository.count());
+        assertEquals(List.of(1, 2, 4), errors.keySet().stream().sorted().toList());
+        assertTrue(errors.get(1).startsWith("title"));
+        assertTrue(errors.get(2).startsWith("Некорректная строка"));
+        assertTrue(errors.get(4).contains("не найден"));
+    }
+
+    private static Iterator<OrderRequest> withUnparseableItemAt(List<OrderRequest> requests, int brokenIndex) {
+        Iterator<OrderRequest> delegate = requests.iterator();
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index == brokenIndex || delegate.hasNext();
+            }
+
+            @Override
+            public OrderRequest next() {
+                if (index++ == brokenIndex) {
+                    throw new IllegalArgumentException("Некорректная строка NDJSON");
+                }
+                return delegate.next();
+            }
+        };
+    }
+
+    private static OrderRequest request(String title, String price, Long userId) {
+        OrderRequest request = new OrderRequest();
+        request.setTitle(title);
+        request.setPrice(new BigDecimal(price));
+        request.setUserId(userId);
+        return request;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.project2;
+
+import com.example.project2.controller.OrderController;
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.exception.ResourceNotFoundException;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.service.OrderAnalyticsService;
+import com.example.project2.service.OrderBatchService;
+import com.example.project2.service.OrderDeletionService;
+import com.example.project2.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = OrderController.class,
+        excludeAutoConfiguration = {
+            org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+        },
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.example\\.project2\\.security\\..*"))
+@Import(TestSecurityConfig.class)
+public class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private OrderBatchService orderBatchService;
+
+    @MockBean
+    private OrderDeletionService orderDeletionService;
+
+    @MockBean
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Test
+    public void testAsyncNotFoundIsMappedByExceptionHandler() throws Exception {
+        when(orderService.findOrdersByUserIdAsync(42L)).thenReturn(
+                CompletableFuture.failedFuture(new ResourceNotFoundException("Пользователь с id 42 не найден")));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/user/42/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Пользователь с id 42 не найден"));
+    }
+
+    @Test
+    public void testAsyncTimeoutIsMappedToServiceUnavailable() throws Exception {
+        when(orderService.findOrderByIdAsync(7L)).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/7/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testOrderIsReturnedAsFlatSummary() throws Exception {
+        when(orderService.findOrderById(7L)).thenReturn(order());
+
+        mockMvc.perform(get("/api/orders/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Книга"))
+                .andExpect(jsonPath("$.userId").value(3))
+                .andExpect(jsonPath("$.username").value("ivan"))
+                .andExpect(jsonPath("$.user").doesNotExist());
+    }
+
+    @Test
+    public void testOrderIsNegotiatedAsCbor() throws Exception {
+        when(orderService.findOrderById(7L)).thenReturn(order());
+
+        byte[] body = mockMvc.perform(get("/api/orders/7").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode order = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("Книга", order.get("title").asText());
+        assertEquals("ivan", order.get("username").asText());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamDefaultsToNdjsonWithoutAcceptHeader() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OrderSummary> consumer = invocation.getArgument(0);
+            consumer.accept(new OrderSummary(1L, "first", BigDecimal.ONE, LocalDateTime.now(), 3L, "ivan"));
+            consumer.accept(new OrderSummary(2L, "second", BigDecimal.TEN, LocalDateTime.now(), 3L, "ivan"));
+            return null;
+        }).when(orderService).streamAllOrders(any(Consumer.class));
+
+        for (MockHttpServletRequestBuilder streamRequest : List.of(get("/api/orders/stream"),
+                get("/api/orders/stream").accept(MediaType.ALL))) {
+            MvcResult result = mockMvc.perform(streamRequest)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertEquals(2, lines.length);
+            assertEquals("second", new ObjectMapper().readTree(lines[1]).get("title").asText());
+        }
+    }
+
+    @Test
+    public void testStreamRejectsUnsupportedAcceptHeader() throws Exception {
+        mockMvc.perform(get("/api/orders/stream").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamIsNegotiatedAsSmileSequence() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OrderSummary> consumer = invocation.getArgument(0);
+            consumer.accept(new OrderSummary(1L, "first", BigDecimal.ONE, LocalDateTime.now(), 3L, "ivan"));
+            consumer.accept(new OrderSummary(2L, "second", BigDecimal.TEN, LocalDateTime.now(), 3L, "ivan"));
+            return null;
+        }).when(orderService).streamAllOrders(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/stream").accept("application/x-jackson-smile"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<JsonNode> orders = new ObjectMapper(new SmileFactory()).readerFor(JsonNode.class).readValues(body)) {
+            List<JsonNode> values = orders.readAll();
+            assertEquals(2, values.size());
+            assertEquals("second", values.get(1).get("title").asText());
+        }
+    }
+
+    private static Order order() {
+        User user = new User();
+        user.setId(3L);
+        user.setUsername("ivan");
+        user.setPassword("$2a$10$hash");
+        Order order = new Order();
+        order.setId(7L);
+        order.setTitle("Книга");
+        order.setPrice(new BigDecimal("9.99"));
+        order.setUser(user);
+        return order;
+    }
+}
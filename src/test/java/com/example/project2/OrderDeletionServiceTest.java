@@ -0,0 +1,117 @@
+package com.example.project2;
+
+import com.example.project2.dto.OrderDeletionJob;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.repository.OrderRepository;
+import com.example.project2.repository.UserRepository;
+import com.example.project2.service.OrderDeletionService;
+import com.example.project2.service.OrderDeletionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "orders.deletion.chunk-size=3"
+})
+@Import({OrderDeletionServiceImpl.class, OrderDeletionServiceTest.ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OrderDeletionServiceTest {
+
+    @Autowired
+    private OrderDeletionService orderDeletionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        userId = user.getId();
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Order order = new Order();
+            order.setTitle("order " + i);
+            order.setPrice(BigDecimal.TEN);
+            order.setUser(user);
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testOrdersAreDeletedInChunks() {
+        OrderDeletionJob job = orderDeletionService.deleteOrdersByUserId(userId);
+
+        assertEquals(OrderDeletionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(10, job.getDeletedRows());
+        assertEquals(0, orderRepository.count());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    public void testDeletionJoinsCallerTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderDeletionService.deleteOrdersByUserId(userId);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(10, orderRepository.count());
+    }
+
+    @Test
+    public void testBackgroundDeletionIsTracked() {
+        OrderDeletionJob job = orderDeletionService.startDeleteOrdersByUserId(userId);
+
+        assertEquals(job, orderDeletionService.findJob(job.getId()));
+        assertEquals(OrderDeletionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(10, job.getDeletedRows());
+        assertEquals(0, orderRepository.count());
+    }
+
+    @TestConfiguration
+    static class ExecutorConfig {
+
+        @Bean
+        public Executor taskExecutor() {
+            return Runnable::run;
+        }
+    }
+}
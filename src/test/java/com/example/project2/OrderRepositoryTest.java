@@ -0,0 +1,128 @@
+package com.example.project2;
+
+import com.example.project2.dto.OrderSummary;
+import com.example.project2.dto.UserOrderStats;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class OrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+    private Long firstUserId;
+
+    @BeforeEach
+    public void setUp() {
+        firstUserId = persistUserWithOrders("alice", 10);
+        persistUserWithOrders("bob", 10);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testSliceIsLoadedWithSingleStatement() {
+        Slice<OrderSummary> slice = orderRepository.findFirstSlice(PageRequest.of(0, 5));
+        OrderSummary last = slice.getContent().get(slice.getNumberOfElements() - 1);
+        Slice<OrderSummary> next = orderRepository.findSliceAfter(last.getCreatedAt(), last.getId(), PageRequest.of(0, 5));
+
+        assertEquals(5, slice.getNumberOfElements());
+        assertEquals(5, next.getNumberOfElements());
+        assertTrue(next.getContent().stream().allMatch(order -> order.getUsername() != null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testOrdersByUserAreLoadedWithSingleStatement() {
+        List<OrderSummary> orders = orderRepository.findSummariesByUserId(firstUserId);
+
+        assertEquals(10, orders.size());
+        assertTrue(orders.stream().allMatch(order -> "alice".equals(order.getUsername())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testOrderByIdFetchesUserWithSingleStatement() {
+        Long orderId = orderRepository.findSummariesByUserId(firstUserId).get(0).getId();
+        statistics.clear();
+
+        Order order = orderRepository.findWithUserById(orderId).orElseThrow();
+
+        assertEquals("alice", order.getUser().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testAggregatesAreComputedInDatabase() {
+        UserOrderStats stats = orderRepository.findUserOrderStats(firstUserId).orElseThrow();
+        List<UserOrderStats> top = orderRepository.findTopUserOrderStats(PageRequest.of(0, 1));
+        List<Object[]> buckets = orderRepository.findDailyRevenue(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertEquals(10, stats.getOrderCount());
+        assertEquals(0, new BigDecimal("145").compareTo(stats.getTotalAmount()));
+        assertEquals(1, top.size());
+        assertEquals(20L, buckets.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteReturnsAffectedRowsWithSingleStatement() {
+        Long orderId = orderRepository.findSummariesByUserId(firstUserId).get(0).getId();
+        statistics.clear();
+
+        assertEquals(1, orderRepository.deleteOrderById(orderId));
+        assertEquals(0, orderRepository.deleteOrderById(orderId));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private Long persistUserWithOrders(String username, int orderCount) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setTitle(username + " order " + i);
+            order.setPrice(BigDecimal.valueOf(10 + i));
+            order.setUser(user);
+            entityManager.persist(order);
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.project2;
+
+import com.example.project2.repository.OrderRevenueRollupRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderRevenueRollupTest {
+
+    private static final String SCHEMA = "rollup_test";
+
+    private PGSimpleDataSource dataSource;
+    private String refreshSql;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(System.getProperty("plan.test.url", "jdbc:postgresql://localhost:5432/testdb"));
+        dataSource.setUser(System.getProperty("plan.test.user", "postgres"));
+        dataSource.setPassword(System.getProperty("plan.test.password", "1"));
+        dataSource.setCurrentSchema(SCHEMA);
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        } catch (SQLException e) {
+            Assumptions.abort("Локальный PostgreSQL недоступен: " + e.getMessage());
+        }
+
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        execute("INSERT INTO users (username, email, password, token_version) VALUES ('alice', 'alice@example.com', 'hash', 0)");
+        refreshSql = OrderRevenueRollupRepository.class.getMethod("refreshChangedBuckets")
+                .getAnnotation(Query.class).value();
+    }
+
+    @Test
+    public void testRefreshAggregatesInsertedOrders() throws Exception {
+        execute("INSERT INTO orders (id, title, price, created_at, user_id) VALUES "
+                + "(1, 'a', 10.00, timestamp '2024-01-01 10:05', 1), "
+                + "(2, 'b', 5.50, timestamp '2024-01-01 10:40', 1), "
+                + "(3, 'c', 1.00, timestamp '2024-01-01 11:00', 1)");
+
+        execute(refreshSql);
+
+        assertEquals(Map.of("2024-01-01 10:00:00", "2 15.50", "2024-01-01 11:00:00", "1 1.00"), rollup());
+        assertEquals(0, count("order_revenue_changes"));
+    }
+
+    @Test
+    public void testRefreshCorrectsUpdatedDeletedAndEmptiedBuckets() throws Exception {
+        execute("INSERT INTO orders (id, title, price, created_at, user_id) VALUES "
+                + "(1, 'a', 10.00, timestamp '2024-01-01 10:05', 1), "
+                + "(2, 'b', 5.50, timestamp '2024-01-01 10:40', 1), "
+                + "(3, 'c', 1.00, timestamp '2024-01-01 11:00', 1)");
+        execute(refreshSql);
+
+        execute("UPDATE orders SET price = 20.00 WHERE id = 1",
+                "DELETE FROM orders WHERE id = 2",
+                "DELETE FROM orders WHERE id = 3");
+        execute(refreshSql);
+
+        assertEquals(Map.of("2024-01-01 10:00:00", "1 20.00"), rollup());
+    }
+
+    @Test
+    public void testRefreshMovesOrderBetweenBuckets() throws Exception {
+        execute("INSERT INTO orders (id, title, price, created_at, user_id) VALUES "
+                + "(1, 'a', 10.00, timestamp '2024-01-01 10:05', 1)");
+        execute(refreshSql);
+
+        execute("UPDATE orders SET created_at = timestamp '2024-01-01 12:30' WHERE id = 1");
+        execute(refreshSql);
+
+        assertEquals(Map.of("2024-01-01 12:00:00", "1 10.00"), rollup());
+    }
+
+    @Test
+    public void testRefreshClearsRollupAfterTruncate() throws Exception {
+        execute("INSERT INTO orders (id, title, price, created_at, user_id) VALUES "
+                + "(1, 'a', 10.00, timestamp '2024-01-01 10:05', 1)");
+        execute(refreshSql);
+
+        execute("TRUNCATE orders");
+        execute(refreshSql);
+
+        assertEquals(Map.of(), rollup());
+    }
+
+    private Map<String, String> rollup() throws SQLException {
+        Map<String, String> buckets = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT bucket_start, order_count, revenue FROM order_revenue_hourly ORDER BY bucket_start")) {
+            while (resultSet.next()) {
+                buckets.put(resultSet.getTimestamp(1).toLocalDateTime().toString().replace('T', ' ') + ":00",
+                        resultSet.getLong(2) + " " + resultSet.getBigDecimal(3));
+            }
+        }
+        return buckets;
+    }
+
+    private long count(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.project2;
+
+import com.example.project2.security.PasswordHashingExecutor;
+import com.example.project2.security.RehashingBCryptPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHashingTest {
+
+    @Test
+    public void testEncodingIsUpgradedWhenCostChanges() {
+        String cost4 = new RehashingBCryptPasswordEncoder(4).encode("password");
+        String cost5 = new RehashingBCryptPasswordEncoder(5).encode("password");
+        RehashingBCryptPasswordEncoder encoder = new RehashingBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.matches("password", cost4));
+        assertTrue(encoder.upgradeEncoding(cost4));
+        assertFalse(encoder.upgradeEncoding(cost5));
+        assertTrue(new RehashingBCryptPasswordEncoder(4).upgradeEncoding(cost5));
+    }
+
+    @Test
+    public void testExcessRequestsAreRejected() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = executor.submit(() -> await(release));
+        CompletableFuture<String> queued = executor.submit(() -> await(release));
+        CompletableFuture<String> rejected = executor.submit(() -> await(release));
+        release.countDown();
+
+        assertEquals("done", running.get());
+        assertEquals("done", queued.get());
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(TaskRejectedException.class, exception.getCause());
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return "done";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
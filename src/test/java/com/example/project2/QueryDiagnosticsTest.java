@@ -0,0 +1,76 @@
+package com.example.project2;
+
+import com.example.project2.config.QueryDiagnostics;
+import com.example.project2.dto.QueryOffender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryDiagnosticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TraceContext traceContext = mock(TraceContext.class);
+    private QueryDiagnostics queryDiagnostics;
+
+    @BeforeEach
+    public void setUp() {
+        Tracer tracer = mock(Tracer.class);
+        Span span = mock(Span.class);
+        when(tracer.currentSpan()).thenReturn(span);
+        when(span.context()).thenReturn(traceContext);
+        when(traceContext.traceId()).thenReturn("trace-1");
+        queryDiagnostics = new QueryDiagnostics(tracer, meterRegistry, Duration.ofMillis(100), 3, 5, 2);
+    }
+
+    @Test
+    public void testRepeatedSelectsInOneRequestAreReportedOnce() {
+        for (int id = 1; id <= 6; id++) {
+            queryDiagnostics.inspect("select o.id, o.title\n  from orders o where o.user_id = " + id);
+        }
+        when(traceContext.traceId()).thenReturn("trace-2");
+        queryDiagnostics.inspect("select o.id, o.title from orders o where o.user_id = 1");
+
+        List<QueryOffender> offenders = queryDiagnostics.findOffenders();
+
+        assertEquals(2, offenders.size());
+        assertEquals(QueryOffender.Type.N_PLUS_ONE, offenders.get(0).getType());
+        assertEquals("select o.id, o.title from orders o where o.user_id = ?", offenders.get(0).getSql());
+        assertEquals("trace-1", offenders.get(0).getTraceId());
+        assertTrue(offenders.get(0).getCallSite().startsWith(QueryDiagnosticsTest.class.getName()
+                + ".testRepeatedSelectsInOneRequestAreReportedOnce:"));
+        assertEquals(QueryOffender.Type.TOO_MANY_STATEMENTS, offenders.get(1).getType());
+        assertEquals(6, offenders.get(1).getCount());
+        assertEquals(1.0, meterRegistry.get("sql.diagnostics.offenders").tag("type", "N_PLUS_ONE").counter().count());
+    }
+
+    @Test
+    public void testSlowQueriesAreKeptInBoundedBuffer() {
+        for (long elapsed : new long[] {50, 150, 300, 450}) {
+            ExecutionInfo execution = new ExecutionInfo();
+            execution.setElapsedTime(elapsed);
+            queryDiagnostics.afterQuery(execution,
+                    List.of(new QueryInfo("select * from users where id in (1, 2, 3) and username = 'bob'")));
+        }
+
+        List<QueryOffender> offenders = queryDiagnostics.findOffenders();
+
+        assertEquals(2, offenders.size());
+        assertEquals(300, offenders.get(0).getElapsedMillis());
+        assertEquals(450, offenders.get(1).getElapsedMillis());
+        assertEquals("select * from users where id in (?, ...) and username = ?", offenders.get(1).getSql());
+        assertEquals(3.0, meterRegistry.get("sql.diagnostics.offenders").tag("type", "SLOW_QUERY").counter().count());
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.project2;
+
+import com.example.project2.repository.OrderRepository;
+import com.example.project2.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.postgresql.jdbc.PreferQueryMode;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryPlanTest {
+
+    private static final String SCHEMA = "plan_test";
+    private static final long SEQ_SCAN_ROW_THRESHOLD = Long.getLong("plan.test.seq-scan-threshold", 1000);
+    private static final LocalDateTime SLICE_CURSOR = LocalDateTime.of(2024, 1, 15, 0, 0);
+
+    private static PGSimpleDataSource dataSource;
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        String url = System.getProperty("plan.test.url", "jdbc:postgresql://localhost:5432/testdb");
+        String user = System.getProperty("plan.test.user", "postgres");
+        String password = System.getProperty("plan.test.password", "1");
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(url);
+        dataSource.setUser(user);
+        dataSource.setPassword(password);
+        dataSource.setCurrentSchema(SCHEMA);
+        dataSource.setPreferQueryMode(PreferQueryMode.SIMPLE);
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+            Assumptions.assumeTrue(connection.getMetaData().getDatabaseMajorVersion() >= 16,
+                    "EXPLAIN (GENERIC_PLAN) требует PostgreSQL 16+");
+        } catch (SQLException e) {
+            Assumptions.abort("Локальный PostgreSQL недоступен: " + e.getMessage());
+        }
+
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        context = new SpringApplicationBuilder(Project2Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--spring.flyway.schemas=" + SCHEMA,
+                        "--diagnostics.sql.enabled=false",
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + CapturingStatementInspector.class.getName());
+        execute("INSERT INTO users (username, email, password, token_version) "
+                        + "SELECT 'user' || i, 'user' || i || '@example.com', 'hash', 0 FROM generate_series(1, 2000) i",
+                "INSERT INTO orders (id, title, price, created_at, user_id) "
+                        + "SELECT i, 'order ' || i, (i % 1000) + 0.99, timestamp '2024-01-01' + i * interval '13 seconds', "
+                        + "1 + i % 2000 FROM generate_series(1, 200000) i",
+                "ANALYZE users",
+                "ANALYZE orders");
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    static Stream<Arguments> finderQueries() {
+        return Stream.of(
+                finder("UserRepository.findByUsername", users -> users.findByUsername("user42")),
+                finder("UserRepository.findByEmail", users -> users.findByEmail("user42@example.com")),
+                finder("UserRepository.existsByUsername", users -> users.existsByUsername("user42")),
+                finder("UserRepository.existsByEmail", users -> users.existsByEmail("user42@example.com")),
+                finder("UserRepository.findByUsernameOrEmail",
+                        users -> users.findByUsernameOrEmail("user42", "user43@example.com")),
+                finder("UserRepository.findExistingIds", users -> users.findExistingIds(Set.of(41L, 42L))),
+                finder("UserRepository.findTokenVersionByUsername",
+                        users -> users.findTokenVersionByUsername("user42")),
+                orderFinder("OrderRepository.findWithUserById", orders -> orders.findWithUserById(42L)),
+                orderFinder("OrderRepository.findSummariesByUserId", orders -> orders.findSummariesByUserId(42L)),
+                orderFinder("OrderRepository.deleteChunkByUserId", orders -> orders.deleteChunkByUserId(42L, 500)),
+                orderFinder("OrderRepository.findFirstSlice", orders -> orders.findFirstSlice(PageRequest.of(0, 50))),
+                orderFinder("OrderRepository.findSliceAfter",
+                        orders -> orders.findSliceAfter(SLICE_CURSOR, 93046L, PageRequest.of(0, 50))),
+                orderFinder("OrderRepository.findUserOrderStats", orders -> orders.findUserOrderStats(42L)),
+                orderFinder("OrderRepository.findHourlyRevenue",
+                        orders -> orders.findHourlyRevenue(SLICE_CURSOR, SLICE_CURSOR.plusDays(1))),
+                orderFinder("OrderRepository.findDailyRevenue",
+                        orders -> orders.findDailyRevenue(SLICE_CURSOR, SLICE_CURSOR.plusDays(1))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finderQueries")
+    public void testFinderAvoidsSequentialScan(String finder, Consumer<ConfigurableApplicationContext> call)
+            throws Exception {
+        List<String> statements = capture(call);
+        assertFalse(statements.isEmpty(), finder + " не выполнил ни одного запроса");
+
+        for (String sql : statements) {
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(explain(sql), seqScans);
+            assertTrue(seqScans.isEmpty(),
+                    finder + " выполняет последовательное сканирование: " + seqScans + "\n" + sql);
+        }
+    }
+
+    private static Arguments finder(String name, Consumer<UserRepository> call) {
+        Consumer<ConfigurableApplicationContext> invocation = ctx -> call.accept(ctx.getBean(UserRepository.class));
+        return Arguments.of(name, invocation);
+    }
+
+    private static Arguments orderFinder(String name, Consumer<OrderRepository> call) {
+        Consumer<ConfigurableApplicationContext> invocation = ctx -> call.accept(ctx.getBean(OrderRepository.class));
+        return Arguments.of(name, invocation);
+    }
+
+    /**
+     * Runs the call in a rolled back transaction and returns the SQL Hibernate sent to the database.
+     */
+    private static List<String> capture(Consumer<ConfigurableApplicationContext> call) {
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        CapturingStatementInspector.STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            call.accept(context);
+            status.setRollbackOnly();
+        });
+        return List.copyOf(CapturingStatementInspector.STATEMENTS);
+    }
+
+    /**
+     * Plans the statement as a prepared statement would be planned before any binding is known.
+     */
+    private static JsonNode explain(String sql) throws Exception {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered)) {
+            resultSet.next();
+            return new ObjectMapper().readTree(resultSet.getString(1)).get(0).get("Plan");
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) throws SQLException {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            long tableRows = tableRows(relation);
+            if (tableRows > SEQ_SCAN_ROW_THRESHOLD) {
+                seqScans.add(relation + " (" + tableRows + " строк)");
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    private static long tableRows(String relation) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+            statement.setString(1, SCHEMA + "." + relation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static void execute(String... statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.project2;
+
+import com.example.project2.security.JwtService;
+import com.example.project2.security.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.extractUsername("alice-token")).thenReturn("alice");
+        when(jwtService.extractUsername("bob-token")).thenReturn("bob");
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(jwtService, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                1000, Duration.ofMinutes(1), 2, 0.1, 1, 0.1);
+    }
+
+    @Test
+    public void testRequestsBeyondCapacityAreRejected() throws Exception {
+        assertEquals(200, send("/api/orders", "alice-token").getStatus());
+        assertEquals(200, send("/api/orders", "alice-token").getStatus());
+        MockHttpServletResponse rejected = send("/api/orders", "alice-token");
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(200, send("/api/orders", "bob-token").getStatus());
+        assertEquals(1.0, meterRegistry.get("rate.limit.requests")
+                .tag("bucket", "api").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    public void testAuthEndpointsUseSeparateBuckets() throws Exception {
+        assertEquals(200, send("/api/auth/login", null).getStatus());
+        assertEquals(429, send("/api/auth/login", null).getStatus());
+        assertEquals(200, send("/api/orders", null).getStatus());
+        assertEquals(200, send("/swagger-ui/index.html", null).getStatus());
+        assertEquals(200, send("/swagger-ui/index.html", null).getStatus());
+    }
+
+    private MockHttpServletResponse send(String uri, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.project2;
+
+import com.example.project2.dto.UserTokenVersion;
+import com.example.project2.repository.UserRepository;
+import com.example.project2.security.TokenVersionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenVersionRegistryTest {
+
+    private UserRepository userRepository;
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new TokenVersionRegistry(userRepository);
+        ReflectionTestUtils.setField(registry, "statelessEnabled", true);
+    }
+
+    @Test
+    public void testUnknownUsernameIsNotCachedAsRevoked() {
+        when(userRepository.findTokenVersionByUsername("alice"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(0L));
+
+        assertFalse(registry.isCurrent("alice", 0));
+        assertTrue(registry.isCurrent("alice", 0));
+        assertTrue(registry.isCurrent("alice", 0));
+        verify(userRepository, times(2)).findTokenVersionByUsername("alice");
+    }
+
+    @Test
+    public void testReusedUsernameIsAcceptedAfterUpdate() {
+        registry.revoke("alice");
+        assertFalse(registry.isCurrent("alice", 0));
+
+        registry.update("alice", 0);
+        assertTrue(registry.isCurrent("alice", 0));
+    }
+
+    @Test
+    public void testRevokeDuringRefreshIsNotOverwrittenBySnapshot() {
+        when(userRepository.findAllTokenVersions()).thenAnswer(invocation -> {
+            registry.revoke("alice");
+            return List.of(version("alice", 0), version("bob", 0));
+        });
+
+        registry.refresh();
+
+        assertFalse(registry.isCurrent("alice", 0));
+        assertTrue(registry.isCurrent("bob", 0));
+        verify(userRepository, never()).findTokenVersionByUsername(any());
+    }
+
+    @Test
+    public void testUpdateDuringRefreshIsNotOverwrittenBySnapshot() {
+        when(userRepository.findAllTokenVersions()).thenAnswer(invocation -> {
+            registry.update("alice", 1);
+            return List.of(version("alice", 0));
+        });
+
+        registry.refresh();
+
+        assertFalse(registry.isCurrent("alice", 0));
+        assertTrue(registry.isCurrent("alice", 1));
+    }
+
+    @Test
+    public void testRefreshDropsDeletedUsersButKeepsRevocations() {
+        when(userRepository.findAllTokenVersions())
+                .thenReturn(List.of(version("alice", 0), version("bob", 0)))
+                .thenReturn(List.of());
+        when(userRepository.findTokenVersionByUsername("bob")).thenReturn(Optional.empty());
+        registry.refresh();
+        registry.revoke("alice");
+
+        registry.refresh();
+
+        assertFalse(registry.isCurrent("alice", 0));
+        assertFalse(registry.isCurrent("bob", 0));
+        verify(userRepository, never()).findTokenVersionByUsername("alice");
+    }
+
+    private static UserTokenVersion version(String username, long tokenVersion) {
+        return new UserTokenVersion() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public long getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+}
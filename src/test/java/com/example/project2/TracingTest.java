@@ -0,0 +1,102 @@
+package com.example.project2;
+
+import com.example.project2.config.RecentTraceExporter;
+import com.example.project2.dto.TraceSpan;
+import com.example.project2.dto.TraceSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+public class TracingTest {
+
+    private static final String ROUTE = "/api/orders/user/{userId}/async";
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecentTraceExporter recentTraceExporter;
+
+    @Test
+    public void testAsyncRequestIsBrokenDownInSingleTrace() throws InterruptedException {
+        restTemplate.postForEntity(url(port, "/api/auth/register"),
+                Map.of("username", "tracing", "email", "tracing@example.com", "password", "password"), Map.class);
+        ResponseEntity<Map> login = restTemplate.postForEntity(url(port, "/api/auth/login"),
+                Map.of("username", "tracing", "password", "password"), Map.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.getBody().get("token"));
+        HttpEntity<Void> authorized = new HttpEntity<>(headers);
+        Long userId = jdbcTemplate.queryForObject("select id from users where username = ?", Long.class, "tracing");
+
+        ResponseEntity<String> orders = restTemplate.exchange(url(port, "/api/orders/user/" + userId + "/async"),
+                HttpMethod.GET, authorized, String.class);
+        TraceSummary summary = awaitTrace();
+        List<TraceSpan> spans = recentTraceExporter.findSpans(summary.getTraceId());
+        ResponseEntity<String> endpoint = restTemplate.exchange(url(managementPort, "/actuator/traces"),
+                HttpMethod.GET, authorized, String.class);
+
+        assertEquals(HttpStatus.OK, orders.getStatusCode());
+        assertTrue(summary.getBreakdownMillis().get("auth") > 0);
+        assertTrue(summary.getBreakdownMillis().get("service") > 0);
+        assertTrue(summary.getBreakdownMillis().get("db") > 0);
+        assertTrue(summary.getBreakdownMillis().get("serialization") > 0);
+        assertTrue(spans.stream().anyMatch(span -> span.getName().endsWith("#find-orders-by-user-id-async")));
+        assertEquals(1, spans.stream().filter(span -> span.getName().equals("jwt user_load")).count());
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("query")
+                && span.getAttributes().values().stream().anyMatch(sql -> sql.contains("from orders"))));
+        assertEquals(HttpStatus.OK, endpoint.getStatusCode());
+        assertTrue(endpoint.getBody().contains(summary.getTraceId()));
+    }
+
+    private TraceSummary awaitTrace() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Optional<TraceSummary> summary = recentTraceExporter.findRecent().stream()
+                    .filter(trace -> trace.getName().endsWith(ROUTE))
+                    .findFirst();
+            if (summary.isPresent()) {
+                return summary.get();
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("Трасса " + ROUTE + " не экспортирована");
+    }
+
+    private static String url(int port, String path) {
+        return "http://localhost:" + port + path;
+    }
+}
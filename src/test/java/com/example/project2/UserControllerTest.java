@@ -0,0 +1,84 @@
+package com.example.project2;
+
+import com.example.project2.controller.UserController;
+import com.example.project2.model.Order;
+import com.example.project2.model.User;
+import com.example.project2.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class,
+        excludeAutoConfiguration = {
+            org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+        },
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.example\\.project2\\.security\\..*"))
+@Import(TestSecurityConfig.class)
+public class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    public void testUserResponseOmitsPasswordAndOrders() throws Exception {
+        when(userService.findUserById(1L)).thenReturn(userWithOrder());
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.username").value("ivan"))
+                .andExpect(jsonPath("$.email").value("ivan@example.com"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.orders").doesNotExist());
+    }
+
+    @Test
+    public void testAsyncUserListIsMappedToResponses() throws Exception {
+        when(userService.findAllUsersAsync()).thenReturn(CompletableFuture.completedFuture(List.of(userWithOrder())));
+
+        MvcResult result = mockMvc.perform(get("/api/users/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("ivan"))
+                .andExpect(jsonPath("$[0].password").doesNotExist())
+                .andExpect(jsonPath("$[0].orders").doesNotExist());
+    }
+
+    private static User userWithOrder() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("ivan");
+        user.setEmail("ivan@example.com");
+        user.setPassword("$2a$10$hash");
+        Order order = new Order();
+        order.setId(10L);
+        order.setTitle("Книга");
+        order.setPrice(new BigDecimal("9.99"));
+        order.setUser(user);
+        user.getOrders().add(order);
+        return user;
+    }
+}
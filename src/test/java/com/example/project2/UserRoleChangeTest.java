@@ -0,0 +1,80 @@
+package com.example.project2;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:role-change;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "transfer.enabled=true",
+        "jwt.stateless.enabled=true"
+})
+public class UserRoleChangeTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testRoleChangeRevokesTokensCarryingTheOldRole() {
+        register("role-admin");
+        register("role-user");
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE username = ?", "role-admin");
+        String adminToken = login("role-admin");
+        String userToken = login("role-user");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, "role-user");
+
+        assertEquals(HttpStatus.FORBIDDEN, changeRole(userToken, userId, "ADMIN").getStatusCode());
+        assertEquals(HttpStatus.OK, changeRole(adminToken, userId, "ADMIN").getStatusCode());
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange(userToken, HttpMethod.GET, "/api/users/" + userId).getStatusCode());
+        assertEquals(HttpStatus.OK, exchange(login("role-user"), HttpMethod.GET, "/api/transfer/jobs").getStatusCode());
+    }
+
+    private void register(String username) {
+        restTemplate.postForEntity(url("/api/auth/register"),
+                Map.of("username", username, "email", username + "@example.com", "password", "password"), Map.class);
+    }
+
+    private String login(String username) {
+        ResponseEntity<Map> login = restTemplate.postForEntity(url("/api/auth/login"),
+                Map.of("username", username, "password", "password"), Map.class);
+        return (String) login.getBody().get("token");
+    }
+
+    private ResponseEntity<String> changeRole(String token, Long userId, String role) {
+        return exchange(token, HttpMethod.PUT, "/api/users/" + userId + "/role?role=" + role);
+    }
+
+    private ResponseEntity<String> exchange(String token, HttpMethod method, String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url(path), method, new HttpEntity<>(headers), String.class);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
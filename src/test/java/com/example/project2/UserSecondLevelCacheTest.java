@@ -0,0 +1,108 @@
+package com.example.project2;
+
+import com.example.project2.model.User;
+import com.example.project2.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserSecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        User user = new User();
+        user.setUsername("cached");
+        user.setEmail("cached@example.com");
+        user.setPassword("password");
+        userId = userRepository.save(user).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testFindByIdIsServedFromCache() {
+        userRepository.findById(userId).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        userRepository.findById(userId).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+    }
+
+    @Test
+    public void testFindByUsernameResolvesNaturalIdFromCache() {
+        userRepository.findByUsername("cached").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        User user = userRepository.findByUsername("cached").orElseThrow();
+
+        assertEquals(userId, user.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertTrue(userRepository.findByUsername("missing").isEmpty());
+    }
+
+    @Test
+    public void testLookupQueriesAreServedFromQueryCache() {
+        userRepository.findByEmail("cached@example.com").orElseThrow();
+        userRepository.existsByUsername("cached");
+        userRepository.findTokenVersionByUsername("cached").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(userId, userRepository.findByEmail("cached@example.com").orElseThrow().getId());
+        assertTrue(userRepository.existsByUsername("cached"));
+        assertEquals(0L, userRepository.findTokenVersionByUsername("cached").orElseThrow());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getQueryRegionStatistics(UserRepository.LOOKUP_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    public void testUserWritesInvalidateQueryCache() {
+        assertFalse(userRepository.existsByEmail("other@example.com"));
+
+        User other = new User();
+        other.setUsername("other");
+        other.setEmail("other@example.com");
+        other.setPassword("password");
+        userRepository.save(other);
+
+        assertTrue(userRepository.existsByEmail("other@example.com"));
+    }
+}
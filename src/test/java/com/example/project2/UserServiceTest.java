@@ -0,0 +1,110 @@
+package com.example.project2;
+
+import com.example.project2.model.Role;
+import com.example.project2.model.User;
+import com.example.project2.security.CustomUserDetailsService;
+import com.example.project2.security.TokenVersionRegistry;
+import com.example.project2.service.OrderDeletionServiceImpl;
+import com.example.project2.service.UserService;
+import com.example.project2.service.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Import({UserServiceImpl.class, OrderDeletionServiceImpl.class, UserServiceTest.AsyncExecutorConfig.class})
+public class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private User alice;
+
+    @BeforeEach
+    public void setUp() {
+        alice = userService.createUser(newUser("alice", "alice@example.com"));
+    }
+
+    @Test
+    public void testCreateUserRejectsDuplicates() {
+        IllegalArgumentException username = assertThrows(IllegalArgumentException.class,
+                () -> userService.createUser(newUser("alice", "other@example.com")));
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class,
+                () -> userService.createUser(newUser("other", "alice@example.com")));
+
+        assertEquals("Пользователь с таким именем уже существует", username.getMessage());
+        assertEquals("Пользователь с таким email уже существует", email.getMessage());
+    }
+
+    @Test
+    public void testCreateUserPublishesTokenVersion() {
+        verify(tokenVersionRegistry).update("alice", 0L);
+    }
+
+    @Test
+    public void testChangeRoleRevokesIssuedTokens() {
+        User admin = userService.changeRole(alice.getId(), Role.ADMIN);
+
+        assertEquals(Role.ADMIN, admin.getRole());
+        assertEquals(1L, admin.getTokenVersion());
+        verify(userDetailsService).evict("alice");
+        verify(tokenVersionRegistry).update("alice", 1L);
+    }
+
+    @Test
+    public void testFindTokenVersionAsync() throws Exception {
+        assertEquals(0L, userService.findTokenVersionAsync("alice").get());
+        assertEquals(0L, userService.findTokenVersionAsync("missing").get());
+    }
+
+    @Test
+    public void testUniqueConstraintViolationIsMappedToDuplicateError() {
+        User bob = userService.createUser(newUser("bob", "bob@example.com"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.updateUser(bob.getId(), newUser(alice.getUsername(), "bob@example.com")));
+
+        assertEquals("Пользователь с таким именем уже существует", exception.getMessage());
+    }
+
+    @TestConfiguration
+    @ComponentScan(basePackageClasses = UserServiceImpl.class, useDefaultFilters = false,
+            includeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*\\.AsyncServiceExecutor"))
+    static class AsyncExecutorConfig {
+
+        @Bean
+        public Executor taskExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    private User newUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return user;
+    }
+}